@@ -0,0 +1,58 @@
+package ru.practicum.shareit.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.booking.service.finder.BookingFinder;
+import ru.practicum.shareit.booking.service.finder.BookingFinderAll;
+import ru.practicum.shareit.booking.service.finder.BookingFinderCurrent;
+import ru.practicum.shareit.booking.service.finder.BookingFinderFactory;
+import ru.practicum.shareit.booking.service.finder.BookingFinderFuture;
+import ru.practicum.shareit.booking.service.finder.BookingFinderPast;
+import ru.practicum.shareit.booking.service.finder.BookingFinderRejected;
+import ru.practicum.shareit.booking.service.finder.BookingFinderWaiting;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Finder lookup by booking state, done once per booking list request. The finders are never called, so
+ * they get no repository.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookingFinderBenchmark {
+    @Param({"ALL", "CURRENT", "REJECTED"})
+    private BookingService.BookingState state;
+
+    private BookingFinderFactory factory;
+
+    @Setup
+    public void setUp() {
+        factory = new BookingFinderFactory(Set.of(
+                new BookingFinderAll(null),
+                new BookingFinderCurrent(null),
+                new BookingFinderPast(null),
+                new BookingFinderFuture(null),
+                new BookingFinderWaiting(null),
+                new BookingFinderRejected(null)));
+    }
+
+    @Benchmark
+    public BookingFinder getFinder() {
+        return factory.getFinder(state);
+    }
+}
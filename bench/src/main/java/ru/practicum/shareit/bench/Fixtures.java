@@ -0,0 +1,77 @@
+package ru.practicum.shareit.bench;
+
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Detached entity graphs shaped like the ones the server maps: items with an owner, a last and a next
+ * booking and a few comments, and bookings with their item and booker.
+ */
+final class Fixtures {
+    static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    private Fixtures() {
+    }
+
+    static User user(long id) {
+        return User.userBuilder()
+                .id(id)
+                .name("User " + id)
+                .email("user" + id + "@example.com")
+                .build();
+    }
+
+    static List<Item> items(int count) {
+        User owner = user(1);
+        User booker = user(2);
+        List<Item> items = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            Item item = Item.itemBuilder()
+                    .id(id)
+                    .name("Item " + id)
+                    .description("Cordless drill with two batteries, item " + id)
+                    .available(true)
+                    .owner(owner)
+                    .build();
+            item.setLastBooking(booking(2 * id, item, booker, NOW.minusDays(2)));
+            item.setNextBooking(booking(2 * id + 1, item, booker, NOW.plusDays(2)));
+            for (long c = 1; c <= 3; c++) {
+                item.getComments().add(Comment.builder()
+                        .id(3 * id + c)
+                        .text("Worked fine, comment " + c)
+                        .item(item)
+                        .author(booker)
+                        .created(NOW.minusDays(1))
+                        .build());
+            }
+            items.add(item);
+        }
+        return items;
+    }
+
+    static List<Booking> bookings(int count) {
+        List<Booking> bookings = new ArrayList<>(count);
+        for (Item item : items(count)) {
+            bookings.add(item.getNextBooking());
+        }
+        return bookings;
+    }
+
+    private static Booking booking(long id, Item item, User booker, LocalDateTime start) {
+        return Booking.bookingBuilder()
+                .id(id)
+                .start(start)
+                .end(start.plusDays(1))
+                .item(item)
+                .booker(booker)
+                .status(BookingStatus.APPROVED)
+                .build();
+    }
+}
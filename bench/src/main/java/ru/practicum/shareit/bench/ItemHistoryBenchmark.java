@@ -0,0 +1,131 @@
+package ru.practicum.shareit.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ItemService#findById} for one item whose booking history grows from {@code 10} to {@code 100000}
+ * rows, read by its owner and by another user.
+ * <p>
+ * Item and comments come from the item detail cache for both readers; the owner also looks up the last and
+ * next approved booking on every read. All but the last ten bookings lie in the past and three of every four
+ * are approved, so the owner read stays flat only if that lookup does not walk the approved history.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemHistoryBenchmark {
+    private static final int BOOKINGS_PER_TRANSACTION = 5_000;
+    private static final int FUTURE_BOOKINGS = 10;
+
+    @Param({"10", "1000", "100000"})
+    public int history;
+
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+    private Long itemId;
+    private Long ownerId;
+    private Long otherId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .profiles("ci")
+                .web(WebApplicationType.NONE)
+                .properties("spring.main.banner-mode=off", "logging.level.root=WARN")
+                .run();
+        itemService = context.getBean(ItemService.class);
+        seed();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ItemDto findByIdAsOwner() {
+        return itemService.findById(itemId, ownerId);
+    }
+
+    @Benchmark
+    public ItemDto findByIdAsOther() {
+        return itemService.findById(itemId, otherId);
+    }
+
+    private void seed() {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        ItemRepository itemRepository = context.getBean(ItemRepository.class);
+        BookingRepository bookingRepository = context.getBean(BookingRepository.class);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        User owner = User.userBuilder().name("Owner").email("owner@example.com").build();
+        User booker = User.userBuilder().name("Booker").email("booker@example.com").build();
+        Item item = Item.itemBuilder()
+                .name("Drill")
+                .description("Cordless drill with two batteries")
+                .available(true)
+                .owner(owner)
+                .build();
+        transactionTemplate.executeWithoutResult(status -> {
+            userRepository.saveAll(List.of(owner, booker));
+            itemRepository.save(item);
+        });
+
+        LocalDateTime first = LocalDateTime.now().minusHours(2L * (history - FUTURE_BOOKINGS) + 1);
+        for (int from = 0; from < history; from += BOOKINGS_PER_TRANSACTION) {
+            int start = from;
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Booking> bookings = new ArrayList<>();
+                for (int i = start; i < Math.min(start + BOOKINGS_PER_TRANSACTION, history); i++) {
+                    LocalDateTime bookingStart = first.plusHours(2L * i);
+                    bookings.add(Booking.bookingBuilder()
+                            .start(bookingStart)
+                            .end(bookingStart.plusHours(1))
+                            .item(item)
+                            .booker(booker)
+                            .status(i % 4 == 3 ? BookingStatus.REJECTED : BookingStatus.APPROVED)
+                            .build());
+                }
+                bookingRepository.saveAll(bookings);
+            });
+        }
+
+        itemId = item.getId();
+        ownerId = owner.getId();
+        otherId = booker.getId();
+    }
+}
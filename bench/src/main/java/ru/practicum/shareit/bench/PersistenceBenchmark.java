@@ -0,0 +1,217 @@
+package ru.practicum.shareit.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.LastAndNextBookingIds;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.booking.service.index.BookingIntervalIndex;
+import ru.practicum.shareit.item.CommentRepository;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Service and repository reads against the in-memory H2 database of the {@code ci} profile, seeded with
+ * {@value #OWNERS} owners of {@value #ITEMS_PER_OWNER} items each, {@value #BOOKINGS_PER_ITEM} bookings
+ * and {@value #COMMENTS_PER_ITEM} comments per item.
+ * <p>
+ * {@link ItemService#findAllByOwner} is where the last and next booking of every item on the page are set,
+ * so it stands for that step as well; the two queries behind it are measured on their own next to it.
+ * <p>
+ * The booking overlap check is measured both ways on the same items and periods: answered by the warm
+ * {@link BookingIntervalIndex} and by the {@link ItemRepository#isBookedInPeriod} query it stands in for.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PersistenceBenchmark {
+    static final int OWNERS = 10;
+    static final int ITEMS_PER_OWNER = 100;
+    static final int BOOKINGS_PER_ITEM = 10;
+    static final int COMMENTS_PER_ITEM = 2;
+    private static final int PAGE_SIZE = 20;
+
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+    private BookingService bookingService;
+    private ItemRepository itemRepository;
+    private BookingRepository bookingRepository;
+    private Long ownerId;
+    private Long bookerId;
+    private List<Long> pageItemIds;
+    private List<Long> lastAndNextIds;
+    private BookingIntervalIndex bookingIntervalIndex;
+    private LocalDateTime periodStart;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .profiles("ci")
+                .web(WebApplicationType.NONE)
+                .properties("spring.main.banner-mode=off", "logging.level.root=WARN",
+                        "shareit.booking.index.max-items=10000")
+                .run();
+        itemService = context.getBean(ItemService.class);
+        bookingService = context.getBean(BookingService.class);
+        itemRepository = context.getBean(ItemRepository.class);
+        bookingRepository = context.getBean(BookingRepository.class);
+
+        new TransactionTemplate(context.getBean(PlatformTransactionManager.class))
+                .executeWithoutResult(status -> seed());
+
+        pageItemIds = itemRepository.findByOwnerId(ownerId, PageRequest.of(0, PAGE_SIZE, Sort.by("id")))
+                .stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+        lastAndNextIds = bookingRepository.findLastAndNextApprovedIdsByItemIdIn(pageItemIds, LocalDateTime.now())
+                .stream()
+                .flatMap(ids -> Stream.of(ids.getLastId(), ids.getNextId()))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+
+        bookingIntervalIndex = context.getBean(BookingIntervalIndex.class);
+        periodStart = LocalDateTime.now().plusHours(12);
+        for (Long itemId : pageItemIds) {
+            bookingIntervalIndex.isBookedInPeriod(itemId, periodStart, periodStart.plusDays(1));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ItemDto> findItemsByOwner() {
+        return itemService.findAllByOwner(ownerId, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Booking> findBookingsByBooker() {
+        return bookingService.findByBookerId(bookerId, BookingService.BookingState.ALL, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Item> itemsByOwnerQuery() {
+        return itemRepository.findByOwnerId(ownerId, PageRequest.of(0, PAGE_SIZE, Sort.by("id")));
+    }
+
+    @Benchmark
+    public List<LastAndNextBookingIds> lastAndNextBookingIdsQuery() {
+        return bookingRepository.findLastAndNextApprovedIdsByItemIdIn(pageItemIds, LocalDateTime.now());
+    }
+
+    @Benchmark
+    public List<Booking> bookingsWithBookerQuery() {
+        return bookingRepository.findWithBookerByIdIn(lastAndNextIds);
+    }
+
+    @Benchmark
+    public Optional<Boolean> bookedInPeriodIndex() {
+        return bookingIntervalIndex.isBookedInPeriod(nextItemId(), periodStart, periodStart.plusDays(1));
+    }
+
+    @Benchmark
+    public boolean bookedInPeriodQuery() {
+        return itemRepository.isBookedInPeriod(nextItemId(), periodStart, periodStart.plusDays(1));
+    }
+
+    private Long nextItemId() {
+        next = (next + 1) % pageItemIds.size();
+        return pageItemIds.get(next);
+    }
+
+    private void seed() {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        CommentRepository commentRepository = context.getBean(CommentRepository.class);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<User> owners = new ArrayList<>();
+        List<User> bookers = new ArrayList<>();
+        for (int i = 0; i < OWNERS; i++) {
+            owners.add(User.userBuilder().name("Owner " + i).email("owner" + i + "@example.com").build());
+            bookers.add(User.userBuilder().name("Booker " + i).email("booker" + i + "@example.com").build());
+        }
+        userRepository.saveAll(owners);
+        userRepository.saveAll(bookers);
+
+        List<Item> items = new ArrayList<>();
+        for (User owner : owners) {
+            for (int i = 0; i < ITEMS_PER_OWNER; i++) {
+                items.add(Item.itemBuilder()
+                        .name("Item " + i)
+                        .description("Cordless drill with two batteries, item " + i)
+                        .available(true)
+                        .owner(owner)
+                        .build());
+            }
+        }
+        itemRepository.saveAll(items);
+
+        List<Booking> bookings = new ArrayList<>();
+        List<Comment> comments = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            Item item = items.get(i);
+            for (int b = 0; b < BOOKINGS_PER_ITEM; b++) {
+                LocalDateTime start = now.plusDays(2L * (b - BOOKINGS_PER_ITEM / 2));
+                bookings.add(Booking.bookingBuilder()
+                        .start(start)
+                        .end(start.plusDays(1))
+                        .item(item)
+                        .booker(bookers.get((i + b) % bookers.size()))
+                        .status(b % 4 == 3 ? BookingStatus.REJECTED : BookingStatus.APPROVED)
+                        .build());
+            }
+            for (int c = 0; c < COMMENTS_PER_ITEM; c++) {
+                comments.add(Comment.builder()
+                        .text("Worked fine, comment " + c)
+                        .item(item)
+                        .author(bookers.get((i + c) % bookers.size()))
+                        .created(now.minusDays(c + 1))
+                        .build());
+            }
+        }
+        bookingRepository.saveAll(bookings);
+        commentRepository.saveAll(comments);
+
+        ownerId = owners.get(0).getId();
+        bookerId = bookers.get(0).getId();
+    }
+}
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.load;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ids written by {@link DatasetGenerator} for {@link LoadDriver} to pick requests from.
+ * <p>
+ * Bookers never own items, so a booking one of them creates is never refused for targeting the booker's
+ * own item.
+ */
+@Data
+public class Dataset {
+    private List<Long> ownerIds = new ArrayList<>();
+    private List<Long> bookerIds = new ArrayList<>();
+    private List<Long> itemIds = new ArrayList<>();
+    private List<Long> requestIds = new ArrayList<>();
+    private List<String> searchTerms = new ArrayList<>();
+}
@@ -0,0 +1,234 @@
+package ru.practicum.shareit.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.CommentRepository;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Fills the server's database with users, items, bookings, comments and item requests and writes the
+ * resulting ids to a {@link Dataset} manifest for {@link LoadDriver}.
+ * <p>
+ * The server is started without its web layer and the rows are saved through its repositories, so ids,
+ * batching and migrations are the server's own; any {@code spring.*} argument points it at another
+ * database. With {@code --shareit.dataset.serve=true} the server keeps running on its port afterwards.
+ * <p>
+ * Bookings of an item follow each other without overlapping, starting somewhere in the configured history:
+ * finished ones are mostly approved, some rejected or canceled; current ones are approved; future ones are
+ * waiting, approved or rejected. Some finished approved bookings get a comment from their booker.
+ */
+@Slf4j
+public class DatasetGenerator {
+    private static final int ITEMS_PER_TRANSACTION = 200;
+    private static final String[] KINDS = {"drill", "saw", "ladder", "tent", "bicycle", "kayak", "projector",
+            "camera", "tripod", "sander", "mixer", "grill", "drone", "guitar", "scooter", "vacuum"};
+    private static final String[] TRAITS = {"cordless", "folding", "electric", "compact", "heavy", "portable",
+            "vintage", "professional"};
+
+    private final DatasetProperties properties;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final CommentRepository commentRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Random random;
+    private final LocalDateTime now = LocalDateTime.now();
+
+    public DatasetGenerator(DatasetProperties properties, ConfigurableApplicationContext context) {
+        this.properties = properties;
+        this.userRepository = context.getBean(UserRepository.class);
+        this.itemRepository = context.getBean(ItemRepository.class);
+        this.bookingRepository = context.getBean(BookingRepository.class);
+        this.commentRepository = context.getBean(CommentRepository.class);
+        this.itemRequestRepository = context.getBean(ItemRequestRepository.class);
+        this.transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        this.random = new Random(properties.getSeed());
+    }
+
+    public static void main(String[] args) throws IOException {
+        boolean serve = Boolean.parseBoolean(new SimpleCommandLinePropertySource(args).getProperty("shareit.dataset.serve"));
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ShareItServer.class)
+                .web(serve ? WebApplicationType.SERVLET : WebApplicationType.NONE)
+                .run(args);
+        DatasetProperties properties = Binder.get(context.getEnvironment())
+                .bind("shareit.dataset", DatasetProperties.class)
+                .orElseGet(DatasetProperties::new);
+
+        Dataset dataset = new DatasetGenerator(properties, context).generate();
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(new File(properties.getManifest()), dataset);
+        log.info("Dataset manifest written to {}", new File(properties.getManifest()).getAbsolutePath());
+
+        if (!serve) {
+            context.close();
+        }
+    }
+
+    public Dataset generate() {
+        if (userRepository.count() > 0) {
+            throw new IllegalStateException("The database already holds users, the generator needs an empty one");
+        }
+
+        long started = System.nanoTime();
+        Dataset dataset = new Dataset();
+        List<User> owners = new ArrayList<>();
+        List<User> bookers = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < properties.getUsers(); i++) {
+                User user = User.userBuilder()
+                        .name("User " + i)
+                        .email("user" + i + "@load.shareit")
+                        .build();
+                (random.nextDouble() < properties.getOwnerShare() ? owners : bookers).add(user);
+            }
+            userRepository.saveAll(owners);
+            userRepository.saveAll(bookers);
+        });
+        if (owners.isEmpty() || bookers.isEmpty()) {
+            throw new IllegalStateException("The dataset needs at least one owner and one booker, raise shareit.dataset.users");
+        }
+        dataset.setOwnerIds(ids(owners, User::getId));
+        dataset.setBookerIds(ids(bookers, User::getId));
+
+        List<ItemRequest> requests = saveRequests(owners, bookers);
+        dataset.setRequestIds(ids(requests, ItemRequest::getId));
+
+        List<Item> items = new ArrayList<>();
+        for (User owner : owners) {
+            int count = 1 + random.nextInt(2 * properties.getItemsPerOwner() - 1);
+            for (int i = 0; i < count; i++) {
+                items.add(item(owner, null));
+            }
+        }
+        for (ItemRequest request : requests) {
+            if (random.nextDouble() < properties.getAnsweredRequestShare()) {
+                User owner = owners.get(random.nextInt(owners.size()));
+                if (!owner.equals(request.getRequester())) {
+                    items.add(item(owner, request.getId()));
+                }
+            }
+        }
+
+        int[] counts = new int[2];
+        for (int from = 0; from < items.size(); from += ITEMS_PER_TRANSACTION) {
+            List<Item> chunk = items.subList(from, Math.min(from + ITEMS_PER_TRANSACTION, items.size()));
+            transactionTemplate.executeWithoutResult(status -> {
+                itemRepository.saveAll(chunk);
+                List<Booking> bookings = new ArrayList<>();
+                List<Comment> comments = new ArrayList<>();
+                for (Item item : chunk) {
+                    addBookings(item, bookers, bookings, comments);
+                }
+                bookingRepository.saveAll(bookings);
+                commentRepository.saveAll(comments);
+                counts[0] += bookings.size();
+                counts[1] += comments.size();
+            });
+        }
+        dataset.setItemIds(ids(items, Item::getId));
+        dataset.setSearchTerms(List.of(KINDS));
+
+        log.info("Generated {} users ({} owners), {} items, {} bookings, {} comments and {} requests in {} ms",
+                owners.size() + bookers.size(), owners.size(), items.size(), counts[0], counts[1], requests.size(),
+                (System.nanoTime() - started) / 1_000_000);
+        return dataset;
+    }
+
+    private List<ItemRequest> saveRequests(List<User> owners, List<User> bookers) {
+        List<ItemRequest> requests = new ArrayList<>();
+        List<User> users = new ArrayList<>(owners);
+        users.addAll(bookers);
+        for (User user : users) {
+            if (random.nextDouble() < properties.getRequestShare()) {
+                requests.add(ItemRequest.builder()
+                        .description("Looking for a " + KINDS[random.nextInt(KINDS.length)] + " for the weekend")
+                        .requester(user)
+                        .created(now.minusHours(random.nextInt((int) properties.getHistory().toHours() + 1)))
+                        .build());
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> itemRequestRepository.saveAll(requests));
+        return requests;
+    }
+
+    private Item item(User owner, Long requestId) {
+        String kind = KINDS[random.nextInt(KINDS.length)];
+        String trait = TRAITS[random.nextInt(TRAITS.length)];
+        return Item.itemBuilder()
+                .name(trait.substring(0, 1).toUpperCase() + trait.substring(1) + " " + kind)
+                .description("A " + trait + " " + kind + " in good condition, pick up in the evening")
+                .available(random.nextDouble() < 0.9)
+                .owner(owner)
+                .requestId(requestId)
+                .build();
+    }
+
+    private void addBookings(Item item, List<User> bookers, List<Booking> bookings, List<Comment> comments) {
+        int count = random.nextInt(2 * properties.getBookingsPerItem() + 1);
+        LocalDateTime start = now.minusHours(random.nextInt((int) properties.getHistory().toHours() + 1));
+        for (int i = 0; i < count; i++) {
+            start = start.plusHours(random.nextInt(72));
+            LocalDateTime end = start.plusHours(12 + random.nextInt(156));
+            User booker = bookers.get(random.nextInt(bookers.size()));
+            BookingStatus status = status(start, end);
+            bookings.add(Booking.bookingBuilder()
+                    .start(start)
+                    .end(end)
+                    .item(item)
+                    .booker(booker)
+                    .status(status)
+                    .build());
+            if (status == BookingStatus.APPROVED && end.isBefore(now) && random.nextDouble() < properties.getCommentShare()) {
+                LocalDateTime created = end.plusHours(1 + random.nextInt(48));
+                comments.add(Comment.builder()
+                        .text("Took the " + item.getName().toLowerCase() + " for a few days, worked as described")
+                        .item(item)
+                        .author(booker)
+                        .created(created.isBefore(now) ? created : now)
+                        .build());
+            }
+            start = end;
+        }
+    }
+
+    private BookingStatus status(LocalDateTime start, LocalDateTime end) {
+        double roll = random.nextDouble();
+        if (end.isBefore(now)) {
+            return roll < 0.8 ? BookingStatus.APPROVED : roll < 0.9 ? BookingStatus.REJECTED : BookingStatus.CANCELED;
+        }
+        if (start.isBefore(now)) {
+            return roll < 0.9 ? BookingStatus.APPROVED : BookingStatus.CANCELED;
+        }
+        return roll < 0.4 ? BookingStatus.WAITING : roll < 0.9 ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+    }
+
+    private static <T> List<Long> ids(List<T> entities, Function<T, Long> id) {
+        return entities.stream().map(id).collect(Collectors.toList());
+    }
+}
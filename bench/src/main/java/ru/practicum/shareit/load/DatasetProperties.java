@@ -0,0 +1,26 @@
+package ru.practicum.shareit.load;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+/**
+ * Shape of the dataset written by {@link DatasetGenerator}, bound from {@code shareit.dataset.*}.
+ * <p>
+ * Counts are averages: items per owner and bookings per item are drawn uniformly around them, so some
+ * owners have a single item and some items were never booked.
+ */
+@Data
+public class DatasetProperties {
+    private long seed = 42;
+    private int users = 1_000;
+    private double ownerShare = 0.2;
+    private int itemsPerOwner = 5;
+    private int bookingsPerItem = 10;
+    private double commentShare = 0.3;
+    private double requestShare = 0.1;
+    private double answeredRequestShare = 0.5;
+    private Duration history = Duration.ofDays(180);
+    private String manifest = "dataset.json";
+    private boolean serve = false;
+}
@@ -0,0 +1,123 @@
+package ru.practicum.shareit.load;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Requests of the load scenario and their share of the traffic, read-heavy like the production mix:
+ * item pages and searches dominate, bookings are listed far more often than they are created.
+ */
+enum Endpoint {
+    ITEM("GET /items/{id}", 25) {
+        @Override
+        HttpRequest.Builder request(URI target, Dataset dataset, Random random) {
+            return get(target, "/items/" + any(dataset.getItemIds(), random), any(dataset.getBookerIds(), random));
+        }
+    },
+    OWNER_ITEMS("GET /items", 15) {
+        @Override
+        HttpRequest.Builder request(URI target, Dataset dataset, Random random) {
+            return get(target, "/items?from=0&size=20", any(dataset.getOwnerIds(), random));
+        }
+    },
+    SEARCH("GET /items/search", 15) {
+        @Override
+        HttpRequest.Builder request(URI target, Dataset dataset, Random random) {
+            return get(target, "/items/search?from=0&size=20&text=" + any(dataset.getSearchTerms(), random),
+                    any(dataset.getBookerIds(), random));
+        }
+    },
+    BOOKER_BOOKINGS("GET /bookings", 15) {
+        @Override
+        HttpRequest.Builder request(URI target, Dataset dataset, Random random) {
+            return get(target, "/bookings?from=0&size=20&state=" + STATES[random.nextInt(STATES.length)],
+                    any(dataset.getBookerIds(), random));
+        }
+    },
+    OWNER_BOOKINGS("GET /bookings/owner", 10) {
+        @Override
+        HttpRequest.Builder request(URI target, Dataset dataset, Random random) {
+            return get(target, "/bookings/owner?from=0&size=20&state=" + STATES[random.nextInt(STATES.length)],
+                    any(dataset.getOwnerIds(), random));
+        }
+    },
+    REQUESTS("GET /requests/all", 5) {
+        @Override
+        HttpRequest.Builder request(URI target, Dataset dataset, Random random) {
+            return get(target, "/requests/all?from=0&size=20", any(dataset.getBookerIds(), random));
+        }
+    },
+    USER("GET /users/{id}", 5) {
+        @Override
+        HttpRequest.Builder request(URI target, Dataset dataset, Random random) {
+            Long userId = any(dataset.getBookerIds(), random);
+            return get(target, "/users/" + userId, userId);
+        }
+    },
+    CREATE_BOOKING("POST /bookings", 10) {
+        @Override
+        HttpRequest.Builder request(URI target, Dataset dataset, Random random) {
+            LocalDateTime start = LocalDateTime.now()
+                    .plusDays(30 + random.nextInt(335))
+                    .plusHours(random.nextInt(24))
+                    .truncatedTo(ChronoUnit.SECONDS);
+            String body = String.format("{\"itemId\":%d,\"start\":\"%s\",\"end\":\"%s\"}",
+                    any(dataset.getItemIds(), random), start, start.plusHours(12 + random.nextInt(60)));
+            return HttpRequest.newBuilder(target.resolve("/bookings"))
+                    .header(USER_ID_HEADER, String.valueOf(any(dataset.getBookerIds(), random)))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body));
+        }
+    };
+
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private static final String[] STATES = {"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"};
+    private static final int TOTAL_WEIGHT = totalWeight();
+
+    private final String label;
+    private final int weight;
+
+    Endpoint(String label, int weight) {
+        this.label = label;
+        this.weight = weight;
+    }
+
+    abstract HttpRequest.Builder request(URI target, Dataset dataset, Random random);
+
+    String getLabel() {
+        return label;
+    }
+
+    static Endpoint pick(Random random) {
+        int roll = random.nextInt(TOTAL_WEIGHT);
+        for (Endpoint endpoint : values()) {
+            roll -= endpoint.weight;
+            if (roll < 0) {
+                return endpoint;
+            }
+        }
+        throw new IllegalStateException("Weights changed while picking");
+    }
+
+    private static HttpRequest.Builder get(URI target, String path, Long userId) {
+        return HttpRequest.newBuilder(target.resolve(path))
+                .header(USER_ID_HEADER, String.valueOf(userId))
+                .GET();
+    }
+
+    private static <T> T any(List<T> values, Random random) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private static int totalWeight() {
+        int total = 0;
+        for (Endpoint endpoint : values()) {
+            total += endpoint.weight;
+        }
+        return total;
+    }
+}
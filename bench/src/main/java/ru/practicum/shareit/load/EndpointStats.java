@@ -0,0 +1,40 @@
+package ru.practicum.shareit.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latencies in microseconds and outcomes of the requests sent to one endpoint.
+ */
+class EndpointStats {
+    private final Histogram latencies = new ConcurrentHistogram(3);
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    /**
+     * @param status the response status, or a negative value if no response arrived
+     */
+    void record(long elapsedNanos, int status) {
+        latencies.recordValue(TimeUnit.NANOSECONDS.toMicros(elapsedNanos));
+        if (status < 0) {
+            failed.incrementAndGet();
+        } else if (status >= 300) {
+            rejected.incrementAndGet();
+        }
+    }
+
+    Histogram getLatencies() {
+        return latencies;
+    }
+
+    long getRejected() {
+        return rejected.get();
+    }
+
+    long getFailed() {
+        return failed.get();
+    }
+}
@@ -0,0 +1,141 @@
+package ru.practicum.shareit.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends the {@link Endpoint} mix to a running gateway with ids from a {@link DatasetGenerator} manifest
+ * and prints latency percentiles and throughput per endpoint.
+ * <p>
+ * Each of the {@code concurrency} workers sends its next request as soon as the previous one is answered,
+ * so the load is closed: an overloaded stack shows up as lower throughput rather than as queueing in the
+ * percentiles. Requests answered during the warmup are not recorded. A response other than 2xx counts as
+ * rejected, for example 429 from the gateway's rate limit or 400 for an overlapping booking; no response
+ * within the timeout counts as failed.
+ */
+public class LoadDriver {
+    private final LoadProperties properties;
+    private final Dataset dataset;
+    private final URI target;
+    private final HttpClient client;
+
+    public LoadDriver(LoadProperties properties, Dataset dataset) {
+        this.properties = properties;
+        this.dataset = dataset;
+        this.target = URI.create(properties.getTarget());
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(properties.getTimeout())
+                .build();
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new SimpleCommandLinePropertySource(args));
+        LoadProperties properties = Binder.get(environment)
+                .bind("shareit.load", LoadProperties.class)
+                .orElseGet(LoadProperties::new);
+        Dataset dataset = new ObjectMapper().readValue(new File(properties.getDataset()), Dataset.class);
+
+        System.out.printf("%d workers against %s, %d s warmup, %d s measured%n", properties.getConcurrency(),
+                properties.getTarget(), properties.getWarmup().toSeconds(), properties.getDuration().toSeconds());
+        Map<Endpoint, EndpointStats> stats = new LoadDriver(properties, dataset).run();
+        System.out.print(report(stats, properties.getDuration().toNanos()));
+    }
+
+    Map<Endpoint, EndpointStats> run() throws InterruptedException {
+        Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            stats.put(endpoint, new EndpointStats());
+        }
+
+        long measuredFrom = System.nanoTime() + properties.getWarmup().toNanos();
+        long until = measuredFrom + properties.getDuration().toNanos();
+        ExecutorService workers = Executors.newFixedThreadPool(properties.getConcurrency());
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int worker = 0; worker < properties.getConcurrency(); worker++) {
+                Random random = new Random(properties.getSeed() + worker);
+                results.add(workers.submit(() -> work(random, stats, measuredFrom, until)));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Load worker failed", e.getCause());
+        } finally {
+            workers.shutdownNow();
+        }
+        return stats;
+    }
+
+    private void work(Random random, Map<Endpoint, EndpointStats> stats, long measuredFrom, long until) {
+        long started;
+        while ((started = System.nanoTime()) < until) {
+            Endpoint endpoint = Endpoint.pick(random);
+            HttpRequest request = endpoint.request(target, dataset, random)
+                    .timeout(properties.getTimeout())
+                    .build();
+            int status;
+            try {
+                status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (IOException e) {
+                status = -1;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (started >= measuredFrom) {
+                stats.get(endpoint).record(System.nanoTime() - started, status);
+            }
+        }
+    }
+
+    static String report(Map<Endpoint, EndpointStats> stats, long measuredNanos) {
+        double seconds = measuredNanos / (double) TimeUnit.SECONDS.toNanos(1);
+        StringBuilder report = new StringBuilder(String.format("%-20s %9s %9s %9s %7s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "req/s", "rejected", "failed", "p50 ms", "p90 ms", "p99 ms", "max ms"));
+        Histogram total = new Histogram(3);
+        long rejected = 0;
+        long failed = 0;
+        for (Map.Entry<Endpoint, EndpointStats> entry : stats.entrySet()) {
+            EndpointStats endpoint = entry.getValue();
+            report.append(line(entry.getKey().getLabel(), endpoint.getLatencies(), endpoint.getRejected(),
+                    endpoint.getFailed(), seconds));
+            total.add(endpoint.getLatencies());
+            rejected += endpoint.getRejected();
+            failed += endpoint.getFailed();
+        }
+        return report.append(line("total", total, rejected, failed, seconds)).toString();
+    }
+
+    private static String line(String label, Histogram latencies, long rejected, long failed, double seconds) {
+        return String.format("%-20s %9d %9.1f %9d %7d %9.2f %9.2f %9.2f %9.2f%n", label,
+                latencies.getTotalCount(), latencies.getTotalCount() / seconds, rejected, failed,
+                millis(latencies, 50), millis(latencies, 90), millis(latencies, 99), latencies.getMaxValue() / 1000.0);
+    }
+
+    private static double millis(Histogram latencies, double percentile) {
+        return latencies.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
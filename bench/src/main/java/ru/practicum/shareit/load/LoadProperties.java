@@ -0,0 +1,19 @@
+package ru.practicum.shareit.load;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+/**
+ * Settings of {@link LoadDriver}, bound from {@code shareit.load.*} command line arguments.
+ */
+@Data
+public class LoadProperties {
+    private String target = "http://localhost:8080";
+    private String dataset = "dataset.json";
+    private int concurrency = 16;
+    private Duration warmup = Duration.ofSeconds(10);
+    private Duration duration = Duration.ofSeconds(60);
+    private Duration timeout = Duration.ofSeconds(10);
+    private long seed = 7;
+}
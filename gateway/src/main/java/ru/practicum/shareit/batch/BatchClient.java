@@ -0,0 +1,175 @@
+package ru.practicum.shareit.batch;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.util.UriComponents;
+
+import ru.practicum.shareit.VirtualThreadConfig;
+import ru.practicum.shareit.exception.ErrorResponse;
+import ru.practicum.shareit.ratelimit.TokenBucketRateLimiter;
+
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Runs the reads of a batch in parallel, so a batch takes as long as its slowest read.
+ * <p>
+ * Each read is checked and sent by {@link BatchRoutes} through the client of its endpoint, so it is validated as
+ * the endpoint validates it, shares the connection pool, the bulkheads, the circuit breaker and the response cache,
+ * and collapses with identical reads in flight. A path that is not a known read, or a read failing validation, is
+ * answered with 400 in its own slot. Each read takes a token from the rate limit of its endpoint, as it would on
+ * its own. A read that fails in the gateway gets the status
+ * the gateway would have answered with, and never fails the rest of the batch.
+ */
+@Slf4j
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class BatchClient implements DisposableBean {
+    private final BatchRoutes routes;
+    private final ExecutorService executor;
+    @Nullable
+    private final TokenBucketRateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public BatchClient(BatchRoutes routes, ObjectProvider<TokenBucketRateLimiter> rateLimiter, ObjectMapper objectMapper,
+                       @Value("${shareit.batch.threads:64}") int threads,
+                       @Value("${shareit.batch.queue-capacity:1000}") int queueCapacity,
+                       @Value("${shareit.virtual-threads.enabled:false}") boolean virtualThreads) {
+        this.routes = routes;
+        this.rateLimiter = rateLimiter.getIfAvailable();
+        this.objectMapper = objectMapper;
+        if (virtualThreads) {
+            this.executor = VirtualThreadConfig.newVirtualThreadPerTaskExecutor();
+        } else {
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 1, TimeUnit.MINUTES,
+                    new LinkedBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("batch-"));
+            pool.allowCoreThreadTimeOut(true);
+            this.executor = pool;
+        }
+    }
+
+    public List<SubResponseDto> execute(List<SubRequestDto> requests, @Nullable Long userId) {
+        List<CompletableFuture<SubResponseDto>> responses = new ArrayList<>(requests.size());
+        for (SubRequestDto request : requests) {
+            CompletableFuture<SubResponseDto> response;
+            try {
+                response = CompletableFuture.supplyAsync(() -> execute(request, userId), executor)
+                        .exceptionally(e -> failed(request, e instanceof CompletionException ? e.getCause() : e));
+            } catch (RejectedExecutionException e) {
+                response = CompletableFuture.completedFuture(failed(request, e));
+            }
+            responses.add(response);
+        }
+        return responses.stream()
+                .map(CompletableFuture::join)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private SubResponseDto execute(SubRequestDto request, @Nullable Long userId) {
+        UriComponents uri;
+        try {
+            uri = BatchRoutes.parse(request.getPath());
+        } catch (IllegalArgumentException e) {
+            return error(request, HttpStatus.BAD_REQUEST, "Invalid path: " + request.getPath());
+        }
+        if (rateLimiter != null) {
+            Duration retryAfter = rateLimiter.acquire("GET", uri.getPath(), userId != null ? String.valueOf(userId) : null);
+            if (!retryAfter.isZero()) {
+                return error(request, HttpStatus.TOO_MANY_REQUESTS);
+            }
+        }
+
+        ResponseEntity<Object> response;
+        try {
+            response = routes.execute(uri, userId);
+        } catch (BatchRoutes.InvalidSubRequestException e) {
+            return error(request, HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        return SubResponseDto.builder()
+                .id(request.getId())
+                .status(response.getStatusCodeValue())
+                .body(body(response))
+                .build();
+    }
+
+    private SubResponseDto failed(SubRequestDto request, Throwable e) {
+        log.warn("Batch request {} failed: {}", request.getId(), e.getMessage());
+        HttpStatus status;
+        if (e instanceof CallNotPermittedException || e instanceof BulkheadFullException || e instanceof RejectedExecutionException) {
+            status = HttpStatus.SERVICE_UNAVAILABLE;
+        } else if (e instanceof ResourceAccessException) {
+            status = e.getCause() instanceof SocketTimeoutException ? HttpStatus.GATEWAY_TIMEOUT : HttpStatus.SERVICE_UNAVAILABLE;
+        } else {
+            status = HttpStatus.INTERNAL_SERVER_ERROR;
+        }
+        return error(request, status);
+    }
+
+    private SubResponseDto error(SubRequestDto request, HttpStatus status) {
+        return error(request, status, status.getReasonPhrase());
+    }
+
+    private SubResponseDto error(SubRequestDto request, HttpStatus status, String message) {
+        return SubResponseDto.builder()
+                .id(request.getId())
+                .status(status.value())
+                .body(json(ErrorResponse.builder()
+                        .status(status.value())
+                        .error(message)
+                        .build()))
+                .build();
+    }
+
+    @Nullable
+    private String body(ResponseEntity<Object> response) {
+        if (response.getBody() == null) {
+            return null;
+        }
+        if (!(response.getBody() instanceof byte[])) {
+            return json(response.getBody());
+        }
+        String body = new String((byte[]) response.getBody(), StandardCharsets.UTF_8);
+        MediaType contentType = response.getHeaders().getContentType();
+        return contentType != null && MediaType.APPLICATION_JSON.isCompatibleWith(contentType) ? body : json(body);
+    }
+
+    private String json(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not write batch response", e);
+        }
+    }
+}
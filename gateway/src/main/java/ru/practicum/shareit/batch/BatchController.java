@@ -0,0 +1,31 @@
+package ru.practicum.shareit.batch;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.Valid;
+
+import static ru.practicum.shareit.constants.ConstantsUtil.USER_ID_HEADER;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping(path = "/batch")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+public class BatchController {
+    private final BatchClient batchClient;
+
+    @PostMapping
+    public ResponseEntity<BatchResponseDto> execute(
+            @Valid @RequestBody BatchRequestDto batchRequestDto,
+            @RequestHeader(value = USER_ID_HEADER, required = false) Long userId
+    ) {
+        log.info("Execute batch of {} requests, userId={}", batchRequestDto.getRequests().size(), userId);
+        return ResponseEntity.ok(new BatchResponseDto(batchClient.execute(batchRequestDto.getRequests(), userId)));
+    }
+}
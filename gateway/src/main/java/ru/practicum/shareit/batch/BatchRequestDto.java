@@ -0,0 +1,23 @@
+package ru.practicum.shareit.batch;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchRequestDto {
+    public static final int MAX_REQUESTS = 20;
+
+    @NotEmpty
+    @Size(max = MAX_REQUESTS)
+    private List<@Valid SubRequestDto> requests;
+}
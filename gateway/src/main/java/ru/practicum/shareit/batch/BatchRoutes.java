@@ -0,0 +1,189 @@
+package ru.practicum.shareit.batch;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.PathContainer;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import ru.practicum.shareit.booking.BookingApi;
+import ru.practicum.shareit.booking.BookingClient;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.item.ItemApi;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.request.ItemRequestApi;
+import ru.practicum.shareit.request.ItemRequestClient;
+import ru.practicum.shareit.user.UserApi;
+import ru.practicum.shareit.user.UserClient;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static ru.practicum.shareit.constants.ConstantsUtil.USER_ID_HEADER;
+
+/**
+ * The reads a batch may contain, each dispatched to the client call behind its endpoint.
+ * <p>
+ * A read is checked like its endpoint checks it: ids must be positive, {@code from} must not be negative,
+ * {@code size} must be positive, the booking state must be known, and endpoints that need a user need the
+ * user of the batch. A path outside the table or a read failing these checks never reaches the server and
+ * is answered with {@link InvalidSubRequestException}.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+class BatchRoutes {
+    private final List<Route> routes;
+
+    BatchRoutes(UserClient userClient, ItemClient itemClient, BookingClient bookingClient, ItemRequestClient itemRequestClient) {
+        this.routes = List.of(
+                route("/users", read -> userClient.exchange(UserApi.findAll())),
+                route("/users/{id}", read -> userClient.exchange(UserApi.findById(read.id("id"), null))),
+                route("/items", read -> itemClient.exchange(ItemApi.findByOwnerId(read.userId()))),
+                route("/items/search", read -> {
+                    String text = read.requiredParam("text");
+                    long userId = read.userId();
+                    if (text.isBlank()) {
+                        return itemClient.emptyList();
+                    }
+                    return itemClient.exchange(ItemApi.findByNameOrDescription(text, userId));
+                }),
+                route("/items/{itemId}", read -> itemClient.exchange(ItemApi.findById(read.id("itemId"), read.userId(), null))),
+                route("/bookings", read -> bookingClient.exchange(BookingApi.findByBookerId(read.userId(), read.state(),
+                        read.from(), read.size(), read.param("cursor")))),
+                route("/bookings/owner", read -> bookingClient.exchange(BookingApi.findByOwnerId(read.userId(), read.state(),
+                        read.from(), read.size(), read.param("cursor")))),
+                route("/bookings/{bookingId}", read -> bookingClient.exchange(BookingApi.findById(read.userId(), read.id("bookingId")))),
+                route("/requests", read -> itemRequestClient.exchange(ItemRequestApi.findByUserId(read.userId()))),
+                route("/requests/all", read -> itemRequestClient.exchange(ItemRequestApi.findAll(read.userId(), read.from(), read.size()))),
+                route("/requests/{requestId}", read -> itemRequestClient.exchange(ItemRequestApi.findById(read.id("requestId"), read.userId(), null)))
+        );
+    }
+
+    /**
+     * Sends a read to the server through the client of its endpoint.
+     *
+     * @throws InvalidSubRequestException if the path is unknown or the read fails validation
+     */
+    ResponseEntity<Object> execute(UriComponents uri, @Nullable Long userId) {
+        PathContainer path = PathContainer.parsePath(uri.getPath() != null ? uri.getPath() : "");
+        for (Route route : routes) {
+            PathPattern.PathMatchInfo match = route.pattern.matchAndExtract(path);
+            if (match != null) {
+                return route.handler.apply(new Read(match.getUriVariables(), uri.getQueryParams(), userId));
+            }
+        }
+        throw new InvalidSubRequestException("Unknown path: " + uri.getPath());
+    }
+
+    static UriComponents parse(String path) {
+        return UriComponentsBuilder.fromUriString(path).build();
+    }
+
+    private static Route route(String pattern, Function<Read, ResponseEntity<Object>> handler) {
+        return new Route(PathPatternParser.defaultInstance.parse(pattern), handler);
+    }
+
+    @RequiredArgsConstructor
+    private static class Route {
+        private final PathPattern pattern;
+        private final Function<Read, ResponseEntity<Object>> handler;
+    }
+
+    @RequiredArgsConstructor
+    private static class Read {
+        private final Map<String, String> variables;
+        private final MultiValueMap<String, String> query;
+        @Nullable
+        private final Long userId;
+
+        long userId() {
+            if (userId == null) {
+                throw new InvalidSubRequestException("Missing header " + USER_ID_HEADER);
+            }
+            return userId;
+        }
+
+        Long id(String name) {
+            String value = variables.get(name);
+            long id;
+            try {
+                id = Long.parseLong(value);
+            } catch (NumberFormatException e) {
+                throw new InvalidSubRequestException(name + " must be a number: " + value);
+            }
+            if (id <= 0) {
+                throw new InvalidSubRequestException(name + " must be greater than 0");
+            }
+            return id;
+        }
+
+        @Nullable
+        String param(String name) {
+            String value = query.getFirst(name);
+            return value != null ? UriUtils.decode(value, StandardCharsets.UTF_8) : null;
+        }
+
+        String requiredParam(String name) {
+            String value = param(name);
+            if (value == null) {
+                throw new InvalidSubRequestException("Missing parameter " + name);
+            }
+            return value;
+        }
+
+        BookingState state() {
+            String value = param("state");
+            if (value == null || value.isBlank()) {
+                return BookingState.ALL;
+            }
+            try {
+                return BookingState.valueOf(value.trim());
+            } catch (IllegalArgumentException e) {
+                throw new InvalidSubRequestException("Unknown state: " + value);
+            }
+        }
+
+        Integer from() {
+            int from = intParam("from", 0);
+            if (from < 0) {
+                throw new InvalidSubRequestException("from must be greater than or equal to 0");
+            }
+            return from;
+        }
+
+        Integer size() {
+            int size = intParam("size", 10);
+            if (size <= 0) {
+                throw new InvalidSubRequestException("size must be greater than 0");
+            }
+            return size;
+        }
+
+        private int intParam(String name, int defaultValue) {
+            String value = param(name);
+            if (value == null || value.isBlank()) {
+                return defaultValue;
+            }
+            try {
+                return Integer.parseInt(value.trim());
+            } catch (NumberFormatException e) {
+                throw new InvalidSubRequestException(name + " must be a number: " + value);
+            }
+        }
+    }
+
+    static class InvalidSubRequestException extends RuntimeException {
+        InvalidSubRequestException(String message) {
+            super(message);
+        }
+    }
+}
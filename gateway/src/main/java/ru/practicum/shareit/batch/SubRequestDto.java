@@ -0,0 +1,25 @@
+package ru.practicum.shareit.batch;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+
+/**
+ * One read in a batch: a GET of {@code path}, relative to the gateway root, for the user of the batch.
+ * <p>
+ * The path is matched against the reads of {@link BatchRoutes}; an unknown path is answered with 400 in its slot.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SubRequestDto {
+    @NotBlank
+    private String id;
+    @NotNull
+    private String path;
+}
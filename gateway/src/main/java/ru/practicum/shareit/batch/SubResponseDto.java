@@ -0,0 +1,19 @@
+package ru.practicum.shareit.batch;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Result of one read in a batch. The body is the JSON the server wrote, embedded as it is.
+ */
+@Getter
+@AllArgsConstructor
+@Builder
+public class SubResponseDto {
+    private String id;
+    private int status;
+    @JsonRawValue
+    private String body;
+}
@@ -0,0 +1,80 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import ru.practicum.shareit.client.ServerClient;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+
+import static ru.practicum.shareit.constants.ConstantsUtil.USER_ID_HEADER;
+
+/**
+ * Booking endpoints and their validation, shared by the servlet and reactive gateways. Each mode only
+ * supplies the client that sends the calls.
+ */
+@RequestMapping(path = BookingApi.PATH)
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+public abstract class AbstractBookingController<R> {
+    private final ServerClient<R> bookingClient;
+
+    @PostMapping
+    public R create(
+            @Valid @RequestBody BookingCreateRequestDto requestDto,
+            @NotNull @RequestHeader(USER_ID_HEADER) Long userId
+    ) {
+        log.info("Create booking");
+        return bookingClient.exchange(BookingApi.create(requestDto, userId));
+    }
+
+    @PatchMapping(value = "/{bookingId}")
+    public R approve(
+            @NotNull @RequestHeader(USER_ID_HEADER) Long ownerId,
+            @PathVariable Long bookingId,
+            @RequestParam boolean approved
+    ) {
+        log.info("Approve booking {}", bookingId);
+        return bookingClient.exchange(BookingApi.approve(bookingId, approved, ownerId));
+    }
+
+    @GetMapping("/{bookingId}")
+    public R findById(
+            @RequestHeader(USER_ID_HEADER) long userId,
+            @PathVariable Long bookingId
+    ) {
+        log.info("Get booking {}, userId={}", bookingId, userId);
+        return bookingClient.exchange(BookingApi.findById(userId, bookingId));
+    }
+
+    @GetMapping
+    public R findByBookerId(
+            @RequestHeader(USER_ID_HEADER) long userId,
+            @RequestParam(defaultValue = "ALL") BookingState state,
+            @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
+            @RequestParam(defaultValue = "10") @Positive Integer size,
+            @RequestParam(required = false) String cursor
+    ) {
+        log.info("Get bookings with state {}, userId={}, from={}, size={}, cursor={}", state, userId, from, size, cursor);
+        return bookingClient.exchange(BookingApi.findByBookerId(userId, state, from, size, cursor));
+    }
+
+    @GetMapping(value = "/owner")
+    public R findByOwnerId(
+            @RequestHeader(USER_ID_HEADER) long userId,
+            @RequestParam(defaultValue = "ALL") BookingState state,
+            @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
+            @RequestParam(defaultValue = "10") @Positive Integer size,
+            @RequestParam(required = false) String cursor
+    ) {
+        log.info("Get bookings with state {}, userId={}, from={}, size={}, cursor={}", state, userId, from, size, cursor);
+        return bookingClient.exchange(BookingApi.findByOwnerId(userId, state, from, size, cursor));
+    }
+}
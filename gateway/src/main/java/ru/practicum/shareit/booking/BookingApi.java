@@ -0,0 +1,60 @@
+package ru.practicum.shareit.booking;
+
+import ru.practicum.shareit.client.ServerRequest;
+
+import java.util.Map;
+
+/**
+ * Builds the shareit-server calls behind the booking endpoints, for both gateway modes and for batch reads.
+ */
+public final class BookingApi {
+    public static final String PATH = "/bookings";
+
+    private BookingApi() {
+    }
+
+    public static ServerRequest create(BookingCreateRequestDto bookingDto, Long userId) {
+        return ServerRequest.post("/", bookingDto).userId(userId).build();
+    }
+
+    public static ServerRequest approve(Long bookingId, boolean approved, Long userId) {
+        return ServerRequest.patch("/" + bookingId + "?approved={approved}")
+                .userId(userId)
+                .parameters(Map.of("approved", approved))
+                .build();
+    }
+
+    public static ServerRequest findById(long userId, Long bookingId) {
+        return ServerRequest.get("/" + bookingId).userId(userId).build();
+    }
+
+    public static ServerRequest findByBookerId(long userId, BookingState state, Integer from, Integer size, String cursor) {
+        return find("", userId, state, from, size, cursor);
+    }
+
+    public static ServerRequest findByOwnerId(long userId, BookingState state, Integer from, Integer size, String cursor) {
+        return find("/owner", userId, state, from, size, cursor);
+    }
+
+    private static ServerRequest find(String path, long userId, BookingState state, Integer from, Integer size, String cursor) {
+        if (cursor != null) {
+            return ServerRequest.get(path + "?state={state}&size={size}&cursor={cursor}")
+                    .userId(userId)
+                    .parameters(Map.of(
+                            "state", state.name(),
+                            "size", size,
+                            "cursor", cursor
+                    ))
+                    .build();
+        }
+
+        return ServerRequest.get(path + "?state={state}&from={from}&size={size}")
+                .userId(userId)
+                .parameters(Map.of(
+                        "state", state.name(),
+                        "from", from,
+                        "size", size
+                ))
+                .build();
+    }
+}
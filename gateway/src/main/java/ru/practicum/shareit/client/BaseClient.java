@@ -1,22 +1,59 @@
 package ru.practicum.shareit.client;
 
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.StreamingHttpOutputMessage;
 import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
 
-public class BaseClient {
+import static ru.practicum.shareit.constants.ConstantsUtil.NEXT_CURSOR_HEADER;
+
+public class BaseClient implements ServerClient<ResponseEntity<Object>> {
+    static final List<String> PASS_THROUGH_HEADERS = List.of(HttpHeaders.CONTENT_TYPE, HttpHeaders.ETAG, NEXT_CURSOR_HEADER);
     protected final RestTemplate rest;
+    @Nullable
+    private final RequestCoalescer requestCoalescer;
+    @Nullable
+    private final ServerResponseCache responseCache;
 
     public BaseClient(RestTemplate rest) {
+        this(rest, null, null);
+    }
+
+    public BaseClient(RestTemplate rest, @Nullable RequestCoalescer requestCoalescer) {
+        this(rest, requestCoalescer, null);
+    }
+
+    public BaseClient(RestTemplate rest, @Nullable RequestCoalescer requestCoalescer, @Nullable ServerResponseCache responseCache) {
         this.rest = rest;
+        this.requestCoalescer = requestCoalescer;
+        this.responseCache = responseCache;
+    }
+
+    @Override
+    public ResponseEntity<Object> exchange(ServerRequest request) {
+        if (request.isCached()) {
+            return getCached(request.getPath(), request.getUserId(), request.getIfNoneMatch());
+        }
+        return makeAndSendRequest(request.getMethod(), request.getPath(), request.getUserId(), request.getParameters(), request.getBody());
+    }
+
+    @Override
+    public ResponseEntity<Object> emptyList() {
+        return ResponseEntity.status(HttpStatus.OK).body(Collections.emptyList());
     }
 
     protected ResponseEntity<Object> get(String path) {
@@ -31,6 +68,67 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
     }
 
+    /**
+     * Reads a single resource through the response cache. The cached copy is revalidated with the server on
+     * every call, so an unchanged resource costs the server a 304 instead of its body, and a client that
+     * already holds the current ETag gets a 304 from the gateway.
+     */
+    protected ResponseEntity<Object> getCached(String path, @Nullable Long userId, @Nullable String ifNoneMatch) {
+        if (responseCache == null) {
+            throw new IllegalStateException("Client has no response cache");
+        }
+        String key = requestKey(rest.getUriTemplateHandler().expand(path), userId);
+        ResponseEntity<Object> response = coalesce(key, () -> revalidate(responseCache, key, path, userId));
+
+        String etag = response.getHeaders().getETag();
+        if (etag != null && response.getStatusCode() == HttpStatus.OK && matchesAny(etag, ifNoneMatch)) {
+            HttpHeaders responseHeaders = new HttpHeaders();
+            responseHeaders.setETag(etag);
+            return prepareGatewayResponse(HttpStatus.NOT_MODIFIED, responseHeaders, null);
+        }
+        return response;
+    }
+
+    private ResponseEntity<Object> revalidate(ServerResponseCache responseCache, String key, String path, @Nullable Long userId) {
+        ServerResponseCache.Entry cached = responseCache.get(key);
+        HttpHeaders headers = defaultHeaders(userId);
+        if (cached != null) {
+            headers.setIfNoneMatch(cached.getEtag());
+        }
+
+        ResponseEntity<byte[]> shareitServerResponse;
+        try {
+            shareitServerResponse = rest.exchange(path, HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+        } catch (HttpStatusCodeException e) {
+            responseCache.evict(key);
+            return prepareGatewayResponse(e.getStatusCode(), e.getResponseHeaders(), e.getResponseBodyAsByteArray());
+        }
+
+        String etag = shareitServerResponse.getHeaders().getETag();
+        if (cached != null && shareitServerResponse.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+            responseCache.recordRevalidation(false);
+            responseCache.put(key, cached);
+        } else if (etag != null && shareitServerResponse.getStatusCode() == HttpStatus.OK) {
+            if (cached != null) {
+                responseCache.recordRevalidation(true);
+            }
+            MediaType contentType = shareitServerResponse.getHeaders().getContentType();
+            cached = new ServerResponseCache.Entry(etag, contentType != null ? contentType.toString() : null,
+                    shareitServerResponse.getBody() != null ? shareitServerResponse.getBody() : new byte[0]);
+            responseCache.put(key, cached);
+        } else {
+            responseCache.evict(key);
+            return prepareGatewayResponse(shareitServerResponse);
+        }
+
+        HttpHeaders responseHeaders = new HttpHeaders();
+        responseHeaders.setETag(cached.getEtag());
+        if (cached.getContentType() != null) {
+            responseHeaders.set(HttpHeaders.CONTENT_TYPE, cached.getContentType());
+        }
+        return prepareGatewayResponse(HttpStatus.OK, responseHeaders, cached.getBody());
+    }
+
     protected <T> ResponseEntity<Object> post(String path, T body) {
         return post(path, null, null, body);
     }
@@ -83,22 +181,84 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
+    protected ResponseEntity<Object> postStream(String path, Long userId, MediaType contentType, InputStream body) {
+        HttpHeaders headers = defaultHeaders(userId);
+        headers.setContentType(contentType);
+
+        ResponseEntity<byte[]> shareitServerResponse;
+        try {
+            shareitServerResponse = rest.execute(path, HttpMethod.POST, request -> {
+                request.getHeaders().addAll(headers);
+                if (request instanceof StreamingHttpOutputMessage) {
+                    ((StreamingHttpOutputMessage) request).setBody(outputStream -> StreamUtils.copy(body, outputStream));
+                } else {
+                    StreamUtils.copy(body, request.getBody());
+                }
+            }, rest.responseEntityExtractor(byte[].class));
+        } catch (HttpStatusCodeException e) {
+            return prepareGatewayResponse(e.getStatusCode(), e.getResponseHeaders(), e.getResponseBodyAsByteArray());
+        } finally {
+            writeCompleted();
+        }
+        return prepareGatewayResponse(shareitServerResponse);
+    }
+
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        if (method == HttpMethod.GET) {
+            String key = requestKey(parameters != null
+                    ? rest.getUriTemplateHandler().expand(path, parameters)
+                    : rest.getUriTemplateHandler().expand(path), userId);
+            return coalesce(key, () -> send(method, path, userId, parameters, body));
+        }
+        try {
+            return send(method, path, userId, parameters, body);
+        } finally {
+            writeCompleted();
+        }
+    }
+
+    private <T> ResponseEntity<Object> send(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
         HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
 
-        ResponseEntity<Object> shareitServerResponse;
+        ResponseEntity<byte[]> shareitServerResponse;
         try {
             if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class, parameters);
             } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class);
             }
         } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            return prepareGatewayResponse(e.getStatusCode(), e.getResponseHeaders(), e.getResponseBodyAsByteArray());
         }
         return prepareGatewayResponse(shareitServerResponse);
     }
 
+    private ResponseEntity<Object> coalesce(String key, Supplier<ResponseEntity<Object>> call) {
+        return requestCoalescer != null ? requestCoalescer.execute(key, call) : call.get();
+    }
+
+    private void writeCompleted() {
+        if (requestCoalescer != null) {
+            requestCoalescer.writeCompleted();
+        }
+    }
+
+    private static String requestKey(URI uri, @Nullable Long userId) {
+        return uri + "#" + userId;
+    }
+
+    private static boolean matchesAny(String etag, @Nullable String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        return headers.getIfNoneMatch()
+                .stream()
+                .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+                .anyMatch(tag -> tag.equals("*") || tag.equals(etag));
+    }
+
     private HttpHeaders defaultHeaders(Long userId) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
@@ -109,17 +269,30 @@ public class BaseClient {
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
-        }
+    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<byte[]> response) {
+        return prepareGatewayResponse(response.getStatusCode(), response.getHeaders(), response.getBody());
+    }
+
+    /**
+     * Relays the server response without parsing it: the body is returned as the raw bytes the server
+     * wrote, together with the headers that describe them.
+     */
+    private static ResponseEntity<Object> prepareGatewayResponse(HttpStatus status, @Nullable HttpHeaders headers, @Nullable byte[] body) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(status);
 
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+        if (headers != null) {
+            PASS_THROUGH_HEADERS.forEach(name -> {
+                List<String> values = headers.get(name);
+                if (values != null) {
+                    responseBuilder.header(name, values.toArray(new String[0]));
+                }
+            });
+        }
 
-        if (response.hasBody()) {
-            return responseBuilder.body(response.getBody());
+        if (body != null && body.length > 0) {
+            return responseBuilder.body(body);
         }
 
         return responseBuilder.build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,58 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Tag;
+import org.springframework.boot.actuate.metrics.web.client.RestTemplateExchangeTags;
+import org.springframework.boot.actuate.metrics.web.client.RestTemplateExchangeTagsProvider;
+import org.springframework.boot.actuate.metrics.web.reactive.client.WebClientExchangeTags;
+import org.springframework.boot.actuate.metrics.web.reactive.client.WebClientExchangeTagsProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.URI;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Tags {@code http.client.requests} with the server path a call was sent to, numeric ids replaced by
+ * {@code {id}} and without a trailing slash.
+ * <p>
+ * The clients pass expanded paths relative to the server URL, so Spring Boot's default {@code uri} tag is
+ * {@code /42} for user, item and booking 42 alike: one series per id until the tag limit is reached, and
+ * no way to tell the resources apart.
+ */
+@Configuration
+public class ClientMetricsConfig {
+    private static final Pattern ID = Pattern.compile("/\\d+(?=/|$)");
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public RestTemplateExchangeTagsProvider restTemplateExchangeTagsProvider() {
+        return (urlTemplate, request, response) -> List.of(
+                RestTemplateExchangeTags.method(request),
+                Tag.of("uri", uri(request.getURI())),
+                RestTemplateExchangeTags.status(response),
+                RestTemplateExchangeTags.clientName(request),
+                RestTemplateExchangeTags.outcome(response));
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public WebClientExchangeTagsProvider webClientExchangeTagsProvider() {
+        return (request, response, throwable) -> List.of(
+                WebClientExchangeTags.method(request),
+                Tag.of("uri", uri(request.url())),
+                WebClientExchangeTags.clientName(request),
+                WebClientExchangeTags.status(response, throwable),
+                WebClientExchangeTags.outcome(response));
+    }
+
+    static String uri(URI uri) {
+        String path = uri.getRawPath();
+        if (path == null || path.isEmpty() || "/".equals(path)) {
+            return "/";
+        }
+        path = ID.matcher(path).replaceAll("/{id}");
+        return path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+    }
+}
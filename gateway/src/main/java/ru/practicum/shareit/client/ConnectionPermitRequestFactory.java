@@ -0,0 +1,78 @@
+package ru.practicum.shareit.client;
+
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.AbstractClientHttpRequestFactoryWrapper;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lets no more requests through than the pool has connections, so no caller waits inside the pool.
+ * <p>
+ * HttpClient 4 waits for a pooled connection while holding a monitor, which pins a virtual thread to its
+ * carrier; waiting for a {@link Semaphore} permit parks it instead. The factories of all clients share one
+ * semaphore with a permit per pooled connection, and a permit is returned when the response is closed, after
+ * its connection is back in the pool.
+ */
+class ConnectionPermitRequestFactory extends AbstractClientHttpRequestFactoryWrapper {
+    private final Semaphore permits;
+    private final long timeoutMillis;
+
+    ConnectionPermitRequestFactory(ClientHttpRequestFactory requestFactory, Semaphore permits, Duration timeout) {
+        super(requestFactory);
+        this.permits = permits;
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    @Override
+    protected ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod, ClientHttpRequestFactory requestFactory) throws IOException {
+        return new PermitRequest(requestFactory.createRequest(uri, httpMethod));
+    }
+
+    private void acquire() throws IOException {
+        try {
+            if (!permits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new ConnectionPoolTimeoutException("Timeout waiting for connection from pool");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for connection from pool");
+        }
+    }
+
+    private class PermitRequest extends ForwardingClientHttpRequest {
+        private PermitRequest(ClientHttpRequest request) {
+            super(request);
+        }
+
+        @Override
+        public ClientHttpResponse execute() throws IOException {
+            acquire();
+            try {
+                return new PermitResponse(request.execute());
+            } catch (IOException | RuntimeException e) {
+                permits.release();
+                throw e;
+            }
+        }
+    }
+
+    private class PermitResponse extends ForwardingClientHttpResponse {
+        private PermitResponse(ClientHttpResponse response) {
+            super(response);
+        }
+
+        @Override
+        protected void onClose() {
+            permits.release();
+        }
+    }
+}
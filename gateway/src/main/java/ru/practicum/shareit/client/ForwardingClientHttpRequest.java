@@ -0,0 +1,66 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+
+/**
+ * Hands every call to another request; request factory wrappers override {@link #execute()}. Streaming
+ * bodies stay streaming when the wrapped request supports them.
+ */
+abstract class ForwardingClientHttpRequest implements ClientHttpRequest, StreamingHttpOutputMessage {
+    protected final ClientHttpRequest request;
+
+    protected ForwardingClientHttpRequest(ClientHttpRequest request) {
+        this.request = request;
+    }
+
+    @Override
+    public ClientHttpResponse execute() throws IOException {
+        return request.execute();
+    }
+
+    @Override
+    public void setBody(Body body) {
+        if (request instanceof StreamingHttpOutputMessage) {
+            ((StreamingHttpOutputMessage) request).setBody(body);
+        } else {
+            try {
+                body.writeTo(request.getBody());
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not write request body", e);
+            }
+        }
+    }
+
+    @Override
+    public OutputStream getBody() throws IOException {
+        return request.getBody();
+    }
+
+    @Override
+    public HttpMethod getMethod() {
+        return request.getMethod();
+    }
+
+    @Override
+    public String getMethodValue() {
+        return request.getMethodValue();
+    }
+
+    @Override
+    public URI getURI() {
+        return request.getURI();
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return request.getHeaders();
+    }
+}
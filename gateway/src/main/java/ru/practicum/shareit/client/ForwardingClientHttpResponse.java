@@ -0,0 +1,61 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Hands every call to another response and runs {@link #onClose()} once, after the wrapped response is
+ * closed, however often {@link #close()} is called.
+ */
+abstract class ForwardingClientHttpResponse implements ClientHttpResponse {
+    protected final ClientHttpResponse response;
+    private boolean closed;
+
+    protected ForwardingClientHttpResponse(ClientHttpResponse response) {
+        this.response = response;
+    }
+
+    protected abstract void onClose();
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            response.close();
+        } finally {
+            onClose();
+        }
+    }
+
+    @Override
+    public HttpStatus getStatusCode() throws IOException {
+        return response.getStatusCode();
+    }
+
+    @Override
+    public int getRawStatusCode() throws IOException {
+        return response.getRawStatusCode();
+    }
+
+    @Override
+    public String getStatusText() throws IOException {
+        return response.getStatusText();
+    }
+
+    @Override
+    public InputStream getBody() throws IOException {
+        return response.getBody();
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return response.getHeaders();
+    }
+}
@@ -0,0 +1,105 @@
+package ru.practicum.shareit.client;
+
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.web.client.RestTemplateBuilderConfigurer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import java.net.http.HttpClient;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One pooled HTTP client for every call from the gateway to shareit-server.
+ * <p>
+ * All clients are built from the {@link RestTemplateBuilder} declared here, so they lease connections
+ * from the same pool, whose size and timeouts come from {@link ServerHttpClientProperties}. With virtual
+ * threads callers queue for a connection in {@link ConnectionPermitRequestFactory} rather than in the pool.
+ * With {@code h2c} enabled the pool is bypassed and calls are multiplexed over HTTP/2 connections by
+ * {@link JdkClientHttpRequestFactory}. Every call first passes the bulkheads and circuit breaker of
+ * {@link ResilientRequestFactory}.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@EnableConfigurationProperties(ServerHttpClientProperties.class)
+public class HttpClientConfig {
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager serverConnectionManager(ServerHttpClientProperties properties) {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(properties.getMaxTotal());
+        connectionManager.setDefaultMaxPerRoute(properties.getMaxPerRoute());
+        connectionManager.setValidateAfterInactivity((int) properties.getValidateAfterInactivity().toMillis());
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient serverHttpClient(PoolingHttpClientConnectionManager serverConnectionManager,
+                                                ServerHttpClientProperties properties) {
+        long keepAlive = properties.getKeepAlive().toMillis();
+        return HttpClients.custom()
+                .setConnectionManager(serverConnectionManager)
+                .setConnectionManagerShared(true)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectTimeout((int) properties.getConnectTimeout().toMillis())
+                        .setConnectionRequestTimeout((int) properties.getConnectionRequestTimeout().toMillis())
+                        .setSocketTimeout((int) properties.getSocketTimeout().toMillis())
+                        .build())
+                .setKeepAliveStrategy((response, context) -> {
+                    long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                    return serverKeepAlive > 0 ? Math.min(serverKeepAlive, keepAlive) : keepAlive;
+                })
+                .evictExpiredConnections()
+                .evictIdleConnections(properties.getMaxIdleTime().toMillis(), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    @Bean
+    public RestTemplateBuilder restTemplateBuilder(RestTemplateBuilderConfigurer configurer,
+                                                   CloseableHttpClient serverHttpClient,
+                                                   ServerHttpClientProperties properties,
+                                                   CircuitBreaker serverCircuitBreaker,
+                                                   BulkheadRegistry serverBulkheads,
+                                                   ServerResilienceProperties resilienceProperties,
+                                                   @Value("${shareit.virtual-threads.enabled:false}") boolean virtualThreads) {
+        Semaphore connectionPermits = new Semaphore(properties.getMaxTotal(), true);
+        HttpClient h2cClient = properties.isH2c()
+                ? HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_2)
+                        .connectTimeout(properties.getConnectTimeout())
+                        .build()
+                : null;
+        return configurer.configure(new RestTemplateBuilder())
+                .requestFactory(() -> {
+                    ClientHttpRequestFactory requestFactory;
+                    if (h2cClient != null) {
+                        requestFactory = new JdkClientHttpRequestFactory(h2cClient, properties.getSocketTimeout());
+                    } else {
+                        requestFactory = new HttpComponentsClientHttpRequestFactory(serverHttpClient);
+                        if (virtualThreads) {
+                            requestFactory = new ConnectionPermitRequestFactory(requestFactory, connectionPermits, properties.getConnectionRequestTimeout());
+                        }
+                    }
+                    return new ResilientRequestFactory(requestFactory, serverCircuitBreaker, serverBulkheads,
+                            resilienceProperties.getCircuitBreaker().getFailureStatuses());
+                });
+    }
+
+    @Bean
+    public MeterBinder serverConnectionPoolMetrics(PoolingHttpClientConnectionManager serverConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(serverConnectionManager, "shareit-server");
+    }
+}
@@ -0,0 +1,290 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.http.client.AbstractClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.StreamUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.PushbackInputStream;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Sends requests with the JDK {@link HttpClient}, which speaks HTTP/2 over plain connections (h2c).
+ * <p>
+ * The client upgrades its first connection to the server and multiplexes later requests over it, so a few
+ * connections carry all calls and there is no pool to wait for. Request bodies are buffered unless
+ * {@link #setBufferRequestBody} turns that off. Responses are asked for gzip and decoded here, as HttpClient 4
+ * does for the pooled factory, and a timeout waiting for the response surfaces as a
+ * {@link SocketTimeoutException}, as it does there.
+ */
+public class JdkClientHttpRequestFactory implements ClientHttpRequestFactory {
+    private static final Set<String> RESTRICTED_HEADERS = Set.of("connection", "content-length", "expect", "host", "upgrade");
+    private static final int STREAMING_BUFFER_SIZE = 16 * 1024;
+    private final HttpClient httpClient;
+    private final Duration timeout;
+    private boolean bufferRequestBody = true;
+
+    JdkClientHttpRequestFactory(HttpClient httpClient, Duration timeout) {
+        this.httpClient = httpClient;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Whether request bodies are collected in memory before the request is sent, which is the default. Without
+     * buffering a body is passed to the client through a small pipe while it is written, so an upload of any
+     * size holds only that pipe in memory.
+     */
+    public void setBufferRequestBody(boolean bufferRequestBody) {
+        this.bufferRequestBody = bufferRequestBody;
+    }
+
+    @Override
+    public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) {
+        return bufferRequestBody ? new BufferedJdkRequest(uri, httpMethod) : new StreamingJdkRequest(uri, httpMethod);
+    }
+
+    private abstract class JdkRequest extends AbstractClientHttpRequest {
+        private final URI uri;
+        private final HttpMethod method;
+
+        private JdkRequest(URI uri, HttpMethod method) {
+            this.uri = uri;
+            this.method = method;
+        }
+
+        @Override
+        public String getMethodValue() {
+            return method.name();
+        }
+
+        @Override
+        public URI getURI() {
+            return uri;
+        }
+
+        protected HttpRequest buildRequest(HttpHeaders headers, HttpRequest.BodyPublisher body) {
+            HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+                    .timeout(timeout)
+                    .method(method.name(), body);
+            headers.forEach((name, values) -> {
+                if (!RESTRICTED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                    values.forEach(value -> request.header(name, value));
+                }
+            });
+            if (!headers.containsKey(HttpHeaders.ACCEPT_ENCODING)) {
+                request.header(HttpHeaders.ACCEPT_ENCODING, "gzip");
+            }
+            return request.build();
+        }
+    }
+
+    private class BufferedJdkRequest extends JdkRequest {
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream(1024);
+
+        private BufferedJdkRequest(URI uri, HttpMethod method) {
+            super(uri, method);
+        }
+
+        @Override
+        protected OutputStream getBodyInternal(HttpHeaders headers) {
+            return body;
+        }
+
+        @Override
+        protected ClientHttpResponse executeInternal(HttpHeaders headers) throws IOException {
+            HttpRequest request = buildRequest(headers, body.size() > 0
+                    ? HttpRequest.BodyPublishers.ofByteArray(body.toByteArray())
+                    : HttpRequest.BodyPublishers.noBody());
+            try {
+                return new JdkResponse(httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream()));
+            } catch (HttpTimeoutException e) {
+                throw asReadTimeout(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for response");
+            }
+        }
+    }
+
+    /**
+     * Hands the body to the client through a pipe: the client reads it on its own threads while the caller
+     * writes it. A failure or an error answer closes the pipe, so the caller stops writing a body nobody reads,
+     * and a body that fails to write closes it from the reading end, so it is not sent cut short as if complete.
+     */
+    private class StreamingJdkRequest extends JdkRequest implements StreamingHttpOutputMessage {
+        private Body body;
+
+        private StreamingJdkRequest(URI uri, HttpMethod method) {
+            super(uri, method);
+        }
+
+        @Override
+        public void setBody(Body body) {
+            assertNotExecuted();
+            this.body = body;
+        }
+
+        @Override
+        protected OutputStream getBodyInternal(HttpHeaders headers) {
+            throw new UnsupportedOperationException("getBody is not supported, use setBody instead");
+        }
+
+        @Override
+        protected ClientHttpResponse executeInternal(HttpHeaders headers) throws IOException {
+            if (body == null) {
+                return new JdkResponse(await(httpClient.sendAsync(buildRequest(headers, HttpRequest.BodyPublishers.noBody()),
+                        HttpResponse.BodyHandlers.ofInputStream())));
+            }
+
+            PipedInputStream source = new PipedInputStream(STREAMING_BUFFER_SIZE);
+            PipedOutputStream sink = new PipedOutputStream(source);
+            CompletableFuture<HttpResponse<InputStream>> response = httpClient.sendAsync(
+                    buildRequest(headers, HttpRequest.BodyPublishers.ofInputStream(() -> source)),
+                    HttpResponse.BodyHandlers.ofInputStream());
+            response.whenComplete((result, failure) -> {
+                if (failure != null || result.statusCode() >= 400) {
+                    closeQuietly(source);
+                }
+            });
+            try {
+                body.writeTo(StreamUtils.nonClosing(sink));
+                sink.close();
+            } catch (IOException e) {
+                closeQuietly(source);
+                if (!response.isDone()) {
+                    response.cancel(true);
+                    throw e;
+                }
+            }
+            return new JdkResponse(await(response));
+        }
+    }
+
+    private static HttpResponse<InputStream> await(CompletableFuture<HttpResponse<InputStream>> response) throws IOException {
+        try {
+            return response.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof HttpTimeoutException) {
+                throw asReadTimeout((HttpTimeoutException) e.getCause());
+            }
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("Request to the server failed", e.getCause());
+        } catch (InterruptedException e) {
+            response.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for response");
+        }
+    }
+
+    private static IOException asReadTimeout(HttpTimeoutException e) {
+        if (e instanceof HttpConnectTimeoutException) {
+            return e;
+        }
+        SocketTimeoutException timedOut = new SocketTimeoutException("Read timed out");
+        timedOut.initCause(e);
+        return timedOut;
+    }
+
+    private static void closeQuietly(InputStream stream) {
+        try {
+            stream.close();
+        } catch (IOException e) {
+            // nothing is read from the stream any more
+        }
+    }
+
+    private static class JdkResponse implements ClientHttpResponse {
+        private final HttpResponse<InputStream> response;
+        private final HttpHeaders headers = new HttpHeaders();
+        private final boolean gzip;
+        private InputStream body;
+
+        private JdkResponse(HttpResponse<InputStream> response) {
+            this.response = response;
+            response.headers().map().forEach(headers::addAll);
+            this.gzip = "gzip".equalsIgnoreCase(headers.getFirst(HttpHeaders.CONTENT_ENCODING));
+            if (gzip) {
+                headers.remove(HttpHeaders.CONTENT_ENCODING);
+                headers.remove(HttpHeaders.CONTENT_LENGTH);
+            }
+        }
+
+        @Override
+        public HttpStatus getStatusCode() {
+            return HttpStatus.valueOf(response.statusCode());
+        }
+
+        @Override
+        public int getRawStatusCode() {
+            return response.statusCode();
+        }
+
+        @Override
+        public String getStatusText() {
+            HttpStatus status = HttpStatus.resolve(response.statusCode());
+            return status != null ? status.getReasonPhrase() : "";
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                body = gzip ? gunzip(response.body()) : response.body();
+            }
+            return body;
+        }
+
+        /**
+         * A 204, a 304 or any other response without a body may still name its encoding, and there is no
+         * gzip header to read, so an empty body is returned as it is.
+         */
+        private static InputStream gunzip(InputStream compressed) throws IOException {
+            PushbackInputStream source = new PushbackInputStream(compressed, 1);
+            int first = source.read();
+            if (first == -1) {
+                return source;
+            }
+            source.unread(first);
+            return new GZIPInputStream(source);
+        }
+
+        @Override
+        public void close() {
+            try {
+                (body != null ? body : response.body()).close();
+            } catch (IOException e) {
+                // the stream is discarded either way
+            }
+        }
+    }
+}
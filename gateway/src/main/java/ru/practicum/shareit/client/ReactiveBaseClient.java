@@ -0,0 +1,90 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static ru.practicum.shareit.client.BaseClient.PASS_THROUGH_HEADERS;
+
+/**
+ * Non-blocking counterpart of {@link BaseClient} for the reactive gateway.
+ * <p>
+ * Sends the same {@link ServerRequest}s, but returns the server response as a {@link Mono} whose body streams
+ * the server's bytes through as they arrive. Error statuses are relayed like any other response.
+ */
+public class ReactiveBaseClient implements ServerClient<Mono<ResponseEntity<Flux<DataBuffer>>>> {
+    private static final byte[] EMPTY_LIST = "[]".getBytes(StandardCharsets.UTF_8);
+    protected final WebClient webClient;
+
+    public ReactiveBaseClient(WebClient webClient) {
+        this.webClient = webClient;
+    }
+
+    @Override
+    public Mono<ResponseEntity<Flux<DataBuffer>>> exchange(ServerRequest request) {
+        WebClient.RequestBodySpec spec = webClient
+                .method(request.getMethod())
+                .uri(request.getPath(), request.getParameters() != null ? request.getParameters() : Map.of())
+                .headers(headers -> {
+                    defaultHeaders(headers, request.getUserId());
+                    if (request.getIfNoneMatch() != null) {
+                        headers.set(HttpHeaders.IF_NONE_MATCH, request.getIfNoneMatch());
+                    }
+                });
+
+        return retrieve(request.getBody() != null ? spec.bodyValue(request.getBody()) : spec);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Flux<DataBuffer>>> emptyList() {
+        return Mono.just(ResponseEntity
+                .ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Flux.defer(() -> Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(EMPTY_LIST)))));
+    }
+
+    protected Mono<ResponseEntity<Flux<DataBuffer>>> postStream(String path, Long userId, MediaType contentType, Flux<DataBuffer> body) {
+        return retrieve(webClient
+                .post()
+                .uri(path)
+                .headers(headers -> defaultHeaders(headers, userId))
+                .contentType(contentType)
+                .body(body, DataBuffer.class));
+    }
+
+    private static Mono<ResponseEntity<Flux<DataBuffer>>> retrieve(WebClient.RequestHeadersSpec<?> request) {
+        return request
+                .retrieve()
+                .onStatus(status -> true, response -> Mono.empty())
+                .toEntityFlux(DataBuffer.class)
+                .map(ReactiveBaseClient::prepareGatewayResponse);
+    }
+
+    private static void defaultHeaders(HttpHeaders headers, Long userId) {
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        if (userId != null) {
+            headers.set("X-Sharer-User-Id", String.valueOf(userId));
+        }
+    }
+
+    private static ResponseEntity<Flux<DataBuffer>> prepareGatewayResponse(ResponseEntity<Flux<DataBuffer>> response) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+        PASS_THROUGH_HEADERS.forEach(name -> {
+            List<String> values = response.getHeaders().get(name);
+            if (values != null) {
+                responseBuilder.header(name, values.toArray(new String[0]));
+            }
+        });
+        return responseBuilder.body(response.getBody());
+    }
+}
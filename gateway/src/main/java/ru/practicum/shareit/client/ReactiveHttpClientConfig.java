@@ -0,0 +1,52 @@
+package ru.practicum.shareit.client;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.Http2AllocationStrategy;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Connection pool of the reactive gateway, sized by the same {@link ServerHttpClientProperties} as the
+ * servlet one. Pool gauges are published as reactor.netty.connection.provider.* metrics. Responses are
+ * asked for gzip. With {@code h2c} enabled calls are multiplexed over at most {@code h2c-max-connections}
+ * HTTP/2 connections.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@EnableConfigurationProperties(ServerHttpClientProperties.class)
+public class ReactiveHttpClientConfig {
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider serverConnectionProvider(ServerHttpClientProperties properties) {
+        ConnectionProvider.Builder builder = ConnectionProvider.builder("shareit-server")
+                .maxConnections(properties.getMaxPerRoute())
+                .pendingAcquireTimeout(properties.getConnectionRequestTimeout())
+                .pendingAcquireMaxCount(-1)
+                .maxIdleTime(properties.getMaxIdleTime())
+                .evictInBackground(properties.getMaxIdleTime())
+                .metrics(true);
+        if (properties.isH2c()) {
+            builder.allocationStrategy(Http2AllocationStrategy.builder()
+                    .maxConnections(properties.getH2cMaxConnections())
+                    .build());
+        }
+        return builder.build();
+    }
+
+    @Bean
+    public WebClientCustomizer serverWebClientCustomizer(ConnectionProvider serverConnectionProvider,
+                                                         ServerHttpClientProperties properties) {
+        HttpClient httpClient = HttpClient.create(serverConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                .responseTimeout(properties.getSocketTimeout())
+                .compress(true)
+                .protocol(properties.isH2c() ? HttpProtocol.H2C : HttpProtocol.HTTP11);
+        return builder -> builder.clientConnector(new ReactorClientHttpConnector(httpClient));
+    }
+}
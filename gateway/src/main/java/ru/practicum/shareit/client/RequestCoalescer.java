@@ -0,0 +1,97 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Collapses identical concurrent reads into one call to the server.
+ * <p>
+ * The first caller for a key makes the call; callers that arrive while it is in flight wait for it and
+ * share its result or its exception. The key is forgotten as soon as the call completes, so nothing is
+ * cached here. Collapsed calls are counted as {@code gateway.requests.collapsed}.
+ * <p>
+ * Every write that goes through the gateway ends the current epoch via {@link #writeCompleted()}. A read
+ * joins only a flight started in its own epoch or later, so a client that writes and then reads never gets
+ * a response the server produced before its write; an older flight is replaced by a new one instead.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class RequestCoalescer {
+    private final Map<String, Flight> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong writeEpoch = new AtomicLong();
+    private final Counter collapsed;
+
+    public RequestCoalescer(MeterRegistry meterRegistry) {
+        this.collapsed = Counter.builder("gateway.requests.collapsed")
+                .description("Reads served by an identical read already in flight")
+                .register(meterRegistry);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, Supplier<T> call) {
+        Flight flight = new Flight(writeEpoch.get());
+        while (true) {
+            Flight leader = inFlight.putIfAbsent(key, flight);
+            if (leader == null) {
+                break;
+            }
+            if (leader.epoch >= flight.epoch) {
+                collapsed.increment();
+                return (T) await(leader.result);
+            }
+            if (inFlight.replace(key, leader, flight)) {
+                break;
+            }
+        }
+
+        try {
+            T result = call.get();
+            flight.result.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            flight.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * Marks every read already in flight as stale: reads that arrive from now on do not join them.
+     */
+    public void writeCompleted() {
+        writeEpoch.incrementAndGet();
+    }
+
+    private static Object await(CompletableFuture<Object> leader) {
+        try {
+            return leader.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static class Flight {
+        private final long epoch;
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        Flight(long epoch) {
+            this.epoch = epoch;
+        }
+    }
+}
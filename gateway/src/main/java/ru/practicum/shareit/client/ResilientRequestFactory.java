@@ -0,0 +1,118 @@
+package ru.practicum.shareit.client;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.AbstractClientHttpRequestFactoryWrapper;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Guards every call to shareit-server with a bulkhead for its endpoint and a circuit breaker shared by all.
+ * <p>
+ * A bulkhead bounds the calls in flight to one group of endpoints, so slow searches cannot take every
+ * connection from bookings; its permit is held until the response is closed. The circuit breaker counts
+ * I/O errors and timeouts, the configured failure statuses (502, 503 and 504 by default) and calls slower
+ * than the configured limit. A 500 is not counted, since the server answers some domain errors with it.
+ * Once the breaker opens, calls fail with {@link CallNotPermittedException} without reaching the server
+ * until it lets trial calls through again.
+ */
+class ResilientRequestFactory extends AbstractClientHttpRequestFactoryWrapper {
+    static final String SEARCH = "search";
+    static final String BOOKINGS = "bookings";
+    static final String OTHER = "other";
+
+    private final CircuitBreaker circuitBreaker;
+    private final BulkheadRegistry bulkheads;
+    private final Set<Integer> failureStatuses;
+
+    ResilientRequestFactory(ClientHttpRequestFactory requestFactory, CircuitBreaker circuitBreaker, BulkheadRegistry bulkheads,
+                            Set<Integer> failureStatuses) {
+        super(requestFactory);
+        this.circuitBreaker = circuitBreaker;
+        this.bulkheads = bulkheads;
+        this.failureStatuses = Set.copyOf(failureStatuses);
+    }
+
+    @Override
+    protected ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod, ClientHttpRequestFactory requestFactory) throws IOException {
+        return new ResilientRequest(requestFactory.createRequest(uri, httpMethod), bulkheads.bulkhead(group(uri)));
+    }
+
+    static String group(URI uri) {
+        String path = uri.getPath();
+        if (path.startsWith("/items/search")) {
+            return SEARCH;
+        }
+        if (path.startsWith("/bookings")) {
+            return BOOKINGS;
+        }
+        return OTHER;
+    }
+
+    private class ResilientRequest extends ForwardingClientHttpRequest {
+        private final Bulkhead bulkhead;
+
+        private ResilientRequest(ClientHttpRequest request, Bulkhead bulkhead) {
+            super(request);
+            this.bulkhead = bulkhead;
+        }
+
+        @Override
+        public ClientHttpResponse execute() throws IOException {
+            if (!bulkhead.tryAcquirePermission()) {
+                throw BulkheadFullException.createBulkheadFullException(bulkhead);
+            }
+            if (!circuitBreaker.tryAcquirePermission()) {
+                bulkhead.onComplete();
+                throw CallNotPermittedException.createCallNotPermittedException(circuitBreaker);
+            }
+
+            long start = System.nanoTime();
+            ClientHttpResponse response = null;
+            int status;
+            try {
+                response = request.execute();
+                status = response.getRawStatusCode();
+            } catch (IOException | RuntimeException e) {
+                circuitBreaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, e);
+                if (response != null) {
+                    response.close();
+                }
+                bulkhead.onComplete();
+                throw e;
+            }
+
+            long duration = System.nanoTime() - start;
+            if (failureStatuses.contains(status)) {
+                circuitBreaker.onError(duration, TimeUnit.NANOSECONDS, new IOException("Server responded with status " + status));
+            } else {
+                circuitBreaker.onSuccess(duration, TimeUnit.NANOSECONDS);
+            }
+            return new BulkheadResponse(response, bulkhead);
+        }
+    }
+
+    private static class BulkheadResponse extends ForwardingClientHttpResponse {
+        private final Bulkhead bulkhead;
+
+        private BulkheadResponse(ClientHttpResponse response, Bulkhead bulkhead) {
+            super(response);
+            this.bulkhead = bulkhead;
+        }
+
+        @Override
+        protected void onClose() {
+            bulkhead.onComplete();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.client;
+
+/**
+ * Sends {@link ServerRequest}s to shareit-server in one gateway mode: {@link BaseClient} answers with the
+ * relayed response, {@link ReactiveBaseClient} with a {@code Mono} of it.
+ *
+ * @param <R> the response type the mode's controllers return
+ */
+public interface ServerClient<R> {
+    R exchange(ServerRequest request);
+
+    /**
+     * Answers with an empty JSON array without calling the server.
+     */
+    R emptyList();
+}
@@ -0,0 +1,47 @@
+package ru.practicum.shareit.client;
+
+import lombok.Builder;
+import lombok.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.Nullable;
+
+import java.util.Map;
+
+/**
+ * A call to shareit-server, built once and sent by either gateway mode through a {@link ServerClient}.
+ * <p>
+ * The path is relative to the client's resource prefix and may hold URI template variables filled from the
+ * parameters. A cached read goes through the servlet gateway's response cache; the reactive gateway forwards
+ * the client's {@code If-None-Match} to the server instead, which answers it the same way.
+ */
+@Value
+@Builder
+public class ServerRequest {
+    HttpMethod method;
+    String path;
+    @Nullable
+    Long userId;
+    @Nullable
+    Map<String, Object> parameters;
+    @Nullable
+    Object body;
+    boolean cached;
+    @Nullable
+    String ifNoneMatch;
+
+    public static ServerRequestBuilder get(String path) {
+        return builder().method(HttpMethod.GET).path(path);
+    }
+
+    public static ServerRequestBuilder post(String path, Object body) {
+        return builder().method(HttpMethod.POST).path(path).body(body);
+    }
+
+    public static ServerRequestBuilder patch(String path) {
+        return builder().method(HttpMethod.PATCH).path(path);
+    }
+
+    public static ServerRequestBuilder delete(String path) {
+        return builder().method(HttpMethod.DELETE).path(path);
+    }
+}
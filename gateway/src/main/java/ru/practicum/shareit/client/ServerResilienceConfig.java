@@ -0,0 +1,88 @@
+package ru.practicum.shareit.client;
+
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Circuit breaker and bulkheads applied by {@link ResilientRequestFactory} to every call to shareit-server.
+ * <p>
+ * Their state is published as the {@code resilience4j.circuitbreaker.*} and {@code resilience4j.bulkhead.*}
+ * metrics, and every state change of the breaker is logged and counted as
+ * {@code gateway.circuit-breaker.transitions}.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@EnableConfigurationProperties(ServerResilienceProperties.class)
+public class ServerResilienceConfig {
+    @Bean
+    public CircuitBreakerRegistry serverCircuitBreakers(ServerResilienceProperties properties) {
+        ServerResilienceProperties.Breaker breaker = properties.getCircuitBreaker();
+        return CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .failureRateThreshold(breaker.getFailureRateThreshold())
+                .slowCallRateThreshold(breaker.getSlowCallRateThreshold())
+                .slowCallDurationThreshold(breaker.getSlowCallDuration())
+                .slidingWindowSize(breaker.getSlidingWindowSize())
+                .minimumNumberOfCalls(breaker.getMinimumNumberOfCalls())
+                .waitDurationInOpenState(breaker.getWaitInOpenState())
+                .permittedNumberOfCallsInHalfOpenState(breaker.getPermittedCallsInHalfOpenState())
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                .build());
+    }
+
+    @Bean
+    public CircuitBreaker serverCircuitBreaker(CircuitBreakerRegistry serverCircuitBreakers, MeterRegistry meterRegistry) {
+        CircuitBreaker circuitBreaker = serverCircuitBreakers.circuitBreaker("shareit-server");
+        circuitBreaker.getEventPublisher().onStateTransition(event -> {
+            log.warn("Circuit breaker {}: {}", event.getCircuitBreakerName(), event.getStateTransition());
+            Counter.builder("gateway.circuit-breaker.transitions")
+                    .description("State changes of the circuit breaker around shareit-server calls")
+                    .tag("name", event.getCircuitBreakerName())
+                    .tag("from", event.getStateTransition().getFromState().name().toLowerCase())
+                    .tag("to", event.getStateTransition().getToState().name().toLowerCase())
+                    .register(meterRegistry)
+                    .increment();
+        });
+        return circuitBreaker;
+    }
+
+    @Bean
+    public BulkheadRegistry serverBulkheads(ServerResilienceProperties properties) {
+        ServerResilienceProperties.Bulkheads bulkheads = properties.getBulkhead();
+        BulkheadRegistry registry = BulkheadRegistry.ofDefaults();
+        registry.bulkhead(ResilientRequestFactory.SEARCH, bulkhead(bulkheads.getSearch(), bulkheads));
+        registry.bulkhead(ResilientRequestFactory.BOOKINGS, bulkhead(bulkheads.getBookings(), bulkheads));
+        registry.bulkhead(ResilientRequestFactory.OTHER, bulkhead(bulkheads.getOther(), bulkheads));
+        return registry;
+    }
+
+    @Bean
+    public MeterBinder serverCircuitBreakerMetrics(CircuitBreakerRegistry serverCircuitBreakers) {
+        return TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(serverCircuitBreakers);
+    }
+
+    @Bean
+    public MeterBinder serverBulkheadMetrics(BulkheadRegistry serverBulkheads) {
+        return TaggedBulkheadMetrics.ofBulkheadRegistry(serverBulkheads);
+    }
+
+    private static BulkheadConfig bulkhead(int maxConcurrentCalls, ServerResilienceProperties.Bulkheads bulkheads) {
+        return BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(bulkheads.getMaxWait())
+                .build();
+    }
+}
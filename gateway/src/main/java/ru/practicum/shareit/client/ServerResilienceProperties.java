@@ -0,0 +1,34 @@
+package ru.practicum.shareit.client;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Set;
+
+@Data
+@ConfigurationProperties(prefix = "shareit-server.resilience")
+public class ServerResilienceProperties {
+    private Breaker circuitBreaker = new Breaker();
+    private Bulkheads bulkhead = new Bulkheads();
+
+    @Data
+    public static class Breaker {
+        private float failureRateThreshold = 50;
+        private float slowCallRateThreshold = 80;
+        private Duration slowCallDuration = Duration.ofSeconds(5);
+        private int slidingWindowSize = 50;
+        private int minimumNumberOfCalls = 20;
+        private Duration waitInOpenState = Duration.ofSeconds(10);
+        private int permittedCallsInHalfOpenState = 5;
+        private Set<Integer> failureStatuses = Set.of(502, 503, 504);
+    }
+
+    @Data
+    public static class Bulkheads {
+        private int search = 50;
+        private int bookings = 100;
+        private int other = 200;
+        private Duration maxWait = Duration.ZERO;
+    }
+}
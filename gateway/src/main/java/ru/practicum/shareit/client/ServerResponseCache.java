@@ -0,0 +1,86 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Bounded cache of server responses that carry an ETag, keyed by request URI and user.
+ * <p>
+ * Entries are never served without asking the server: {@link BaseClient} revalidates them with
+ * {@code If-None-Match}, so a cached body saves the transfer of an unchanged resource, not the round trip.
+ * A revalidated entry is written again, so an unchanged resource that is read within every TTL stays cached.
+ * Lookups are published as the {@code serverResponses} cache metrics, revalidations as
+ * {@code gateway.response.cache.revalidations}.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class ServerResponseCache {
+    private final Cache<String, Entry> cache;
+    private final Counter notModified;
+    private final Counter modified;
+
+    @Autowired
+    public ServerResponseCache(MeterRegistry meterRegistry,
+                               @Value("${shareit-server.response-cache.max-size:10000}") long maxSize,
+                               @Value("${shareit-server.response-cache.ttl:10m}") Duration ttl) {
+        this(meterRegistry, maxSize, ttl, Ticker.systemTicker());
+    }
+
+    ServerResponseCache(MeterRegistry meterRegistry, long maxSize, Duration ttl, Ticker ticker) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "serverResponses");
+        this.notModified = revalidations(meterRegistry, "not_modified");
+        this.modified = revalidations(meterRegistry, "modified");
+    }
+
+    @Nullable
+    Entry get(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    void put(String key, Entry entry) {
+        cache.put(key, entry);
+    }
+
+    void evict(String key) {
+        cache.invalidate(key);
+    }
+
+    void recordRevalidation(boolean changed) {
+        (changed ? modified : notModified).increment();
+    }
+
+    private static Counter revalidations(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("gateway.response.cache.revalidations")
+                .description("Cached server responses revalidated with If-None-Match")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    static class Entry {
+        private final String etag;
+        @Nullable
+        private final String contentType;
+        private final byte[] body;
+    }
+}
@@ -2,4 +2,6 @@ package ru.practicum.shareit.constants;
 
 public class ConstantsUtil {
     public static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final String TEXT_CSV_VALUE = "text/csv";
 }
\ No newline at end of file
@@ -1,16 +1,24 @@
 package ru.practicum.shareit.exception;
 
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.MissingRequestHeaderException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.server.ServerWebInputException;
 import ru.practicum.shareit.booking.BookingState;
 
 
+import java.net.SocketTimeoutException;
 import java.util.Objects;
 
 @RestControllerAdvice
@@ -32,6 +40,85 @@ public class GlobalExceptionHandler {
                         .build());
     }
 
+    @ExceptionHandler
+    public ResponseEntity<ErrorResponse> handleWebExchangeBindException(WebExchangeBindException ex) {
+        log.warn("Validation error");
+
+        ex.getAllErrors().forEach(er -> log.warn(er.getDefaultMessage()));
+
+        HttpStatus badRequest = HttpStatus.BAD_REQUEST;
+
+        return ResponseEntity
+                .status(badRequest)
+                .body(ErrorResponse.builder()
+                        .status(badRequest.value())
+                        .error("Validation error")
+                        .build());
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<ErrorResponse> handleServerWebInputException(ServerWebInputException ex) {
+        log.warn(ex.getMessage());
+        HttpStatus httpStatus = HttpStatus.INTERNAL_SERVER_ERROR;
+        String error = ex.getReason();
+
+        if (ex.getCause() instanceof TypeMismatchException) {
+            TypeMismatchException cause = (TypeMismatchException) ex.getCause();
+            error = Objects.equals(cause.getRequiredType(), BookingState.class)
+                    ? "Unknown state: " + cause.getValue()
+                    : "Unknown argument: " + cause.getValue();
+        }
+
+        return ResponseEntity
+                .status(httpStatus)
+                .body(ErrorResponse.builder()
+                        .status(httpStatus.value())
+                        .error(error)
+                        .build());
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<ErrorResponse> handleRateLimitExceededException(RateLimitExceededException ex) {
+        log.warn(ex.getMessage());
+        HttpStatus tooManyRequests = HttpStatus.TOO_MANY_REQUESTS;
+
+        return ResponseEntity
+                .status(tooManyRequests)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(ErrorResponse.builder()
+                        .status(tooManyRequests.value())
+                        .error(tooManyRequests.getReasonPhrase())
+                        .build());
+    }
+
+    @ExceptionHandler({CallNotPermittedException.class, BulkheadFullException.class})
+    public ResponseEntity<ErrorResponse> handleServerUnavailableException(RuntimeException ex) {
+        log.warn(ex.getMessage());
+        HttpStatus serviceUnavailable = HttpStatus.SERVICE_UNAVAILABLE;
+
+        return ResponseEntity
+                .status(serviceUnavailable)
+                .body(ErrorResponse.builder()
+                        .status(serviceUnavailable.value())
+                        .error(serviceUnavailable.getReasonPhrase())
+                        .build());
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<ErrorResponse> handleResourceAccessException(ResourceAccessException ex) {
+        log.warn(ex.getMessage());
+        HttpStatus httpStatus = ex.getCause() instanceof SocketTimeoutException
+                ? HttpStatus.GATEWAY_TIMEOUT
+                : HttpStatus.SERVICE_UNAVAILABLE;
+
+        return ResponseEntity
+                .status(httpStatus)
+                .body(ErrorResponse.builder()
+                        .status(httpStatus.value())
+                        .error(httpStatus.getReasonPhrase())
+                        .build());
+    }
+
     @ExceptionHandler
     public ResponseEntity<ErrorResponse> handleMissingRequestHeaderException(MissingRequestHeaderException ex) {
         log.warn(ex.getMessage());
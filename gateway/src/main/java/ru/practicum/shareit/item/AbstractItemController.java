@@ -0,0 +1,83 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.client.ServerClient;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+
+import static ru.practicum.shareit.constants.ConstantsUtil.USER_ID_HEADER;
+
+/**
+ * Item endpoints and their validation, shared by the servlet and reactive gateways. Each mode supplies the
+ * client that sends the calls and the bulk import, whose streamed body type differs between the modes.
+ */
+@RequestMapping(path = ItemApi.PATH)
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+public abstract class AbstractItemController<R> {
+    private final ServerClient<R> itemClient;
+
+    @PostMapping
+    public R create(
+            @Valid @RequestBody ItemDto itemDto,
+            @NotNull @RequestHeader(USER_ID_HEADER) Long userId
+    ) {
+        log.info("Create item, userId={}", userId);
+        return itemClient.exchange(ItemApi.create(itemDto, userId));
+    }
+
+    @PatchMapping(value = "/{itemId}")
+    public R update(
+            @RequestBody ItemDto itemDto,
+            @NotNull @RequestHeader(USER_ID_HEADER) Long userId,
+            @PathVariable Long itemId
+    ) {
+        log.info("Update item {}, userId={}", itemId, userId);
+        return itemClient.exchange(ItemApi.update(itemId, itemDto, userId));
+    }
+
+    @GetMapping(value = "/{itemId}")
+    public R findById(
+            @PathVariable Long itemId,
+            @NotNull @RequestHeader(USER_ID_HEADER) Long userId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        log.info("Get item {}, userId={}", itemId, userId);
+        return itemClient.exchange(ItemApi.findById(itemId, userId, ifNoneMatch));
+    }
+
+    @GetMapping
+    public R findByOwnerId(@NotNull @RequestHeader(USER_ID_HEADER) Long userId) {
+        log.info("Get items by owner, ownerId={}", userId);
+        return itemClient.exchange(ItemApi.findByOwnerId(userId));
+    }
+
+    @GetMapping("/search")
+    public R findByNameOrDescription(
+            @RequestParam String text,
+            @NotNull @RequestHeader(USER_ID_HEADER) Long userId
+    ) {
+        log.info("Get items by name or description, text={}, userId={}", text, userId);
+        if (text.isBlank()) {
+            return itemClient.emptyList();
+        } else {
+            return itemClient.exchange(ItemApi.findByNameOrDescription(text, userId));
+        }
+    }
+
+    @PostMapping(value = "/{itemId}/comment")
+    public R createComment(
+            @PathVariable Long itemId,
+            @Valid @RequestBody CommentDto commentDto,
+            @NotNull @RequestHeader(USER_ID_HEADER) Long userId
+    ) {
+        log.info("Create comment, itemId={}, userId={}", itemId, userId);
+        return itemClient.exchange(ItemApi.createComment(itemId, commentDto, userId));
+    }
+}
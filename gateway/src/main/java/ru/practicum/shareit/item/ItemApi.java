@@ -0,0 +1,44 @@
+package ru.practicum.shareit.item;
+
+import ru.practicum.shareit.client.ServerRequest;
+
+import java.util.Map;
+
+/**
+ * Builds the shareit-server calls behind the item endpoints, for both gateway modes and for batch reads.
+ * The bulk import streams its body and is sent by each mode's client directly.
+ */
+public final class ItemApi {
+    public static final String PATH = "/items";
+    public static final String IMPORT_PATH = "/bulk";
+
+    private ItemApi() {
+    }
+
+    public static ServerRequest create(ItemDto itemDto, Long userId) {
+        return ServerRequest.post("/", itemDto).userId(userId).build();
+    }
+
+    public static ServerRequest update(Long itemId, ItemDto itemDto, Long userId) {
+        return ServerRequest.patch("/" + itemId).userId(userId).body(itemDto).build();
+    }
+
+    public static ServerRequest findById(Long itemId, Long userId, String ifNoneMatch) {
+        return ServerRequest.get("/" + itemId).userId(userId).cached(true).ifNoneMatch(ifNoneMatch).build();
+    }
+
+    public static ServerRequest findByOwnerId(Long userId) {
+        return ServerRequest.get("/").userId(userId).build();
+    }
+
+    public static ServerRequest findByNameOrDescription(String text, Long userId) {
+        return ServerRequest.get("/search?text={text}")
+                .userId(userId)
+                .parameters(Map.of("text", text))
+                .build();
+    }
+
+    public static ServerRequest createComment(Long itemId, CommentDto commentDto, Long userId) {
+        return ServerRequest.post("/" + itemId + "/comment", commentDto).userId(userId).build();
+    }
+}
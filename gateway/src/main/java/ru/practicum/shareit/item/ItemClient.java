@@ -2,54 +2,35 @@ package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ServerResponseCache;
 
-
-import java.util.Map;
+import java.io.InputStream;
 
 @Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class ItemClient extends BaseClient {
-    private static final String API_PREFIX = "/items";
-
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      RequestCoalescer requestCoalescer, ServerResponseCache responseCache) {
         super(builder
-                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                .build()
-        );
-    }
-
-    public ResponseEntity<Object> create(ItemDto itemDto, Long userId) {
-        return post("/", userId, itemDto);
-    }
-
-    public ResponseEntity<Object> update(Long itemId, ItemDto requestItemDto, Long userId) {
-        return patch("/" + itemId, userId, requestItemDto);
-    }
-
-    public ResponseEntity<Object> findById(Long itemId, Long userId) {
-        return get("/" + itemId, userId);
-    }
-
-    public ResponseEntity<Object> findByOwnerId(Long userId) {
-        return get("/", userId);
-    }
-
-    public ResponseEntity<Object> findByNameOrDescription(String text, Long userId) {
-        Map<String, Object> parameters = Map.of(
-                "text", text
+                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + ItemApi.PATH))
+                .setBufferRequestBody(false)
+                .build(),
+                requestCoalescer,
+                responseCache
         );
-        return get("/search?text={text}", userId, parameters);
     }
 
-    public ResponseEntity<Object> createComment(Long itemId, CommentDto commentDto, Long userId) {
-        return post("/" + itemId + "/comment", userId, commentDto);
+    public ResponseEntity<Object> importItems(MediaType contentType, InputStream body, Long userId) {
+        return postStream(ItemApi.IMPORT_PATH, userId, contentType, body);
     }
-}
\ No newline at end of file
+}
@@ -1,81 +1,39 @@
 package ru.practicum.shareit.item;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.HttpStatus;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.validation.annotation.Validated;
-import org.springframework.web.bind.annotation.*;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
 
-import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
-import java.util.Collections;
+import java.io.InputStream;
 
+import static ru.practicum.shareit.constants.ConstantsUtil.TEXT_CSV_VALUE;
 import static ru.practicum.shareit.constants.ConstantsUtil.USER_ID_HEADER;
 
 
 @RestController
-@RequestMapping(path = "/items")
-@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @Slf4j
-@Validated
-public class ItemController {
+public class ItemController extends AbstractItemController<ResponseEntity<Object>> {
     private final ItemClient itemClient;
 
-    @PostMapping
-    public ResponseEntity<Object> create(
-            @Valid @RequestBody ItemDto itemDto,
-            @NotNull @RequestHeader(USER_ID_HEADER) Long userId
-    ) {
-        log.info("Create item, userId={}", userId);
-        return itemClient.create(itemDto, userId);
+    public ItemController(ItemClient itemClient) {
+        super(itemClient);
+        this.itemClient = itemClient;
     }
 
-    @PatchMapping(value = "/{itemId}")
-    public ResponseEntity<Object> update(
-            @RequestBody ItemDto itemDto,
+    @PostMapping(value = ItemApi.IMPORT_PATH, consumes = {MediaType.APPLICATION_JSON_VALUE, TEXT_CSV_VALUE})
+    public ResponseEntity<Object> importItems(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
             @NotNull @RequestHeader(USER_ID_HEADER) Long userId,
-            @PathVariable Long itemId
-    ) {
-        log.info("Update item {}, userId={}", itemId, userId);
-        return itemClient.update(itemId, itemDto, userId);
-    }
-
-    @GetMapping(value = "/{itemId}")
-    public ResponseEntity<Object> findById(
-            @PathVariable Long itemId,
-            @NotNull @RequestHeader(USER_ID_HEADER) Long userId
-    ) {
-        log.info("Get item {}, userId={}", itemId, userId);
-        return itemClient.findById(itemId, userId);
-    }
-
-    @GetMapping
-    public ResponseEntity<Object> findByOwnerId(@NotNull @RequestHeader(USER_ID_HEADER) Long userId) {
-        log.info("Get items by owner, ownerId={}", userId);
-        return itemClient.findByOwnerId(userId);
-    }
-
-    @GetMapping("/search")
-    public ResponseEntity<Object> findByNameOrDescription(
-            @RequestParam String text,
-            @NotNull @RequestHeader(USER_ID_HEADER) Long userId
-    ) {
-        log.info("Get items by name or description, text={}, userId={}", text, userId);
-        if (text.isBlank()) {
-            return ResponseEntity.status(HttpStatus.OK).body(Collections.emptyList());
-        } else {
-            return itemClient.findByNameOrDescription(text, userId);
-        }
-    }
-
-    @PostMapping(value = "/{itemId}/comment")
-    public ResponseEntity<Object> createComment(
-            @PathVariable Long itemId,
-            @Valid @RequestBody CommentDto commentDto,
-            @NotNull @RequestHeader(USER_ID_HEADER) Long userId
+            InputStream body
     ) {
-        log.info("Create comment, itemId={}, userId={}", itemId, userId);
-        return itemClient.createComment(itemId, commentDto, userId);
+        log.info("Import items, userId={}", userId);
+        return itemClient.importItems(contentType, body, userId);
     }
-}
\ No newline at end of file
+}
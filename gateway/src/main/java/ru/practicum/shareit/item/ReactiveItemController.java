@@ -0,0 +1,41 @@
+package ru.practicum.shareit.item;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.validation.constraints.NotNull;
+
+import static ru.practicum.shareit.constants.ConstantsUtil.TEXT_CSV_VALUE;
+import static ru.practicum.shareit.constants.ConstantsUtil.USER_ID_HEADER;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Slf4j
+public class ReactiveItemController extends AbstractItemController<Mono<ResponseEntity<Flux<DataBuffer>>>> {
+    private final ReactiveItemClient itemClient;
+
+    public ReactiveItemController(ReactiveItemClient itemClient) {
+        super(itemClient);
+        this.itemClient = itemClient;
+    }
+
+    @PostMapping(value = ItemApi.IMPORT_PATH, consumes = {MediaType.APPLICATION_JSON_VALUE, TEXT_CSV_VALUE})
+    public Mono<ResponseEntity<Flux<DataBuffer>>> importItems(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            @NotNull @RequestHeader(USER_ID_HEADER) Long userId,
+            @RequestBody Flux<DataBuffer> body
+    ) {
+        log.info("Import items, userId={}", userId);
+        return itemClient.importItems(contentType, body, userId);
+    }
+}
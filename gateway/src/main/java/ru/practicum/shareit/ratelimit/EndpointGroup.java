@@ -0,0 +1,23 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Endpoints that share a rate limit. Requests outside every group are not limited.
+ */
+public enum EndpointGroup {
+    SEARCH,
+    BOOKING_CREATE,
+    READS;
+
+    @Nullable
+    public static EndpointGroup of(String method, String path) {
+        if ("GET".equals(method)) {
+            return path.equals("/items/search") ? SEARCH : READS;
+        }
+        if ("POST".equals(method) && (path.equals("/bookings") || path.equals("/bookings/"))) {
+            return BOOKING_CREATE;
+        }
+        return null;
+    }
+}
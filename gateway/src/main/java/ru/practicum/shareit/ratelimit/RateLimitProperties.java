@@ -0,0 +1,27 @@
+package ru.practicum.shareit.ratelimit;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "shareit.rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = false;
+    private long maxBuckets = 1_000_000;
+    private Duration idleTimeout = Duration.ofMinutes(1);
+    private Limit search = new Limit(20, 10);
+    private Limit bookingCreate = new Limit(5, 1);
+    private Limit reads = new Limit(100, 50);
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+        private int capacity;
+        private double refillPerSecond;
+    }
+}
@@ -0,0 +1,61 @@
+package ru.practicum.shareit.ratelimit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.WebFilter;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.exception.ErrorResponse;
+import ru.practicum.shareit.exception.RateLimitExceededException;
+
+import java.time.Duration;
+
+import static ru.practicum.shareit.constants.ConstantsUtil.USER_ID_HEADER;
+
+/**
+ * Rate limit of the reactive gateway. Web filters run outside the controller advice, so the filter writes
+ * the 429 response itself, in the same shape as {@code GlobalExceptionHandler}.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@ConditionalOnProperty(name = "shareit.rate-limit.enabled", havingValue = "true")
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class ReactiveRateLimitConfig {
+    @Bean
+    public WebFilter rateLimitFilter(TokenBucketRateLimiter rateLimiter, ObjectMapper objectMapper) {
+        return (exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            Duration retryAfter = rateLimiter.acquire(request.getMethodValue(),
+                    request.getPath().pathWithinApplication().value(),
+                    request.getHeaders().getFirst(USER_ID_HEADER));
+            if (retryAfter.isZero()) {
+                return chain.filter(exchange);
+            }
+
+            RateLimitExceededException ex = new RateLimitExceededException(retryAfter);
+            HttpStatus tooManyRequests = HttpStatus.TOO_MANY_REQUESTS;
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(tooManyRequests);
+            response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()));
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            try {
+                byte[] body = objectMapper.writeValueAsBytes(ErrorResponse.builder()
+                        .status(tooManyRequests.value())
+                        .error(tooManyRequests.getReasonPhrase())
+                        .build());
+                return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+            } catch (JsonProcessingException e) {
+                return Mono.error(e);
+            }
+        };
+    }
+}
@@ -0,0 +1,111 @@
+package ru.practicum.shareit.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-user token buckets, one set per {@link EndpointGroup}.
+ * <p>
+ * A bucket is kept as the single time at which it would be full again (the generic cell rate algorithm),
+ * so taking a token is one compare-and-set and no request waits for a lock. A bucket left idle longer than
+ * its refill time is full, which makes evicting it lossless: buckets expire after the idle timeout, never
+ * shorter than the refill time, and the number of buckets per group is capped. Rejections are counted as
+ * {@code gateway.rate-limit.rejected}.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.rate-limit.enabled", havingValue = "true")
+public class TokenBucketRateLimiter {
+    private final Map<EndpointGroup, Buckets> buckets = new EnumMap<>(EndpointGroup.class);
+    private final LongSupplier nanoClock;
+
+    @Autowired
+    public TokenBucketRateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        buckets.put(EndpointGroup.SEARCH, new Buckets(EndpointGroup.SEARCH, properties.getSearch(), properties, meterRegistry));
+        buckets.put(EndpointGroup.BOOKING_CREATE, new Buckets(EndpointGroup.BOOKING_CREATE, properties.getBookingCreate(), properties, meterRegistry));
+        buckets.put(EndpointGroup.READS, new Buckets(EndpointGroup.READS, properties.getReads(), properties, meterRegistry));
+    }
+
+    /**
+     * Takes a token for a request from the bucket of its user and endpoint group. Requests outside every
+     * group and requests without a valid user id pass unlimited.
+     *
+     * @return {@link Duration#ZERO} if the request may pass, otherwise the time until a token is available
+     */
+    public Duration acquire(String method, String path, @Nullable String userIdHeader) {
+        EndpointGroup group = EndpointGroup.of(method, path);
+        if (group == null || userIdHeader == null) {
+            return Duration.ZERO;
+        }
+        try {
+            return acquire(group, Long.parseLong(userIdHeader.trim()));
+        } catch (NumberFormatException e) {
+            return Duration.ZERO;
+        }
+    }
+
+    Duration acquire(EndpointGroup group, long userId) {
+        return buckets.get(group).acquire(userId);
+    }
+
+    private class Buckets {
+        private final Cache<Long, AtomicLong> fullAt;
+        private final long interval;
+        private final long tolerance;
+        private final Counter rejected;
+
+        private Buckets(EndpointGroup group, RateLimitProperties.Limit limit, RateLimitProperties properties, MeterRegistry meterRegistry) {
+            this.interval = Math.max(1, Math.round(TimeUnit.SECONDS.toNanos(1) / limit.getRefillPerSecond()));
+            this.tolerance = interval * limit.getCapacity();
+            Duration idleTimeout = properties.getIdleTimeout().compareTo(Duration.ofNanos(tolerance)) > 0
+                    ? properties.getIdleTimeout()
+                    : Duration.ofNanos(tolerance);
+            this.fullAt = Caffeine.newBuilder()
+                    .maximumSize(properties.getMaxBuckets())
+                    .expireAfterAccess(idleTimeout)
+                    .recordStats()
+                    .build();
+            String name = group.name().toLowerCase();
+            CaffeineCacheMetrics.monitor(meterRegistry, fullAt, "rateLimitBuckets", "group", name);
+            this.rejected = Counter.builder("gateway.rate-limit.rejected")
+                    .description("Requests rejected by the per-user rate limit")
+                    .tag("group", name)
+                    .register(meterRegistry);
+        }
+
+        private Duration acquire(long userId) {
+            long now = nanoClock.getAsLong();
+            AtomicLong bucket = fullAt.get(userId, id -> new AtomicLong(now));
+            while (true) {
+                long current = bucket.get();
+                long next = (current - now > 0 ? current : now) + interval;
+                long wait = next - now - tolerance;
+                if (wait > 0) {
+                    rejected.increment();
+                    return Duration.ofNanos(wait);
+                }
+                if (bucket.compareAndSet(current, next)) {
+                    return Duration.ZERO;
+                }
+            }
+        }
+    }
+}
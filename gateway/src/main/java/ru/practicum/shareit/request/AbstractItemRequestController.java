@@ -0,0 +1,62 @@
+package ru.practicum.shareit.request;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.client.ServerClient;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+
+import static ru.practicum.shareit.constants.ConstantsUtil.USER_ID_HEADER;
+
+/**
+ * Item request endpoints and their validation, shared by the servlet and reactive gateways. Each mode only
+ * supplies the client that sends the calls.
+ */
+@RequestMapping(path = ItemRequestApi.PATH)
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+public abstract class AbstractItemRequestController<R> {
+    private final ServerClient<R> itemRequestClient;
+
+    @PostMapping
+    public R create(
+            @Valid @RequestBody ItemRequestDto itemDto,
+            @NotNull @RequestHeader(USER_ID_HEADER) Long userId
+    ) {
+        log.info("Create request, userId={}", userId);
+        return itemRequestClient.exchange(ItemRequestApi.create(itemDto, userId));
+    }
+
+    @GetMapping(value = "/{requestId}")
+    public R findById(
+            @PathVariable Long requestId,
+            @NotNull @RequestHeader(USER_ID_HEADER) Long userId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        log.info("Get request {}, userId={}", requestId, userId);
+        return itemRequestClient.exchange(ItemRequestApi.findById(requestId, userId, ifNoneMatch));
+    }
+
+    @GetMapping
+    public R findByUserId(@NotNull @RequestHeader(USER_ID_HEADER) Long userId) {
+        log.info("Get requests by user, userId={}", userId);
+        return itemRequestClient.exchange(ItemRequestApi.findByUserId(userId));
+    }
+
+    @GetMapping(value = "/all")
+    public R findAll(
+            @NotNull @RequestHeader(USER_ID_HEADER) Long userId,
+            @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
+            @RequestParam(defaultValue = "10") @Positive Integer size
+    ) {
+        log.info("Get all requests, userId={}, from={}, size={}", userId, from, size);
+        return itemRequestClient.exchange(ItemRequestApi.findAll(userId, from, size));
+    }
+}
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.request;
+
+import ru.practicum.shareit.client.ServerRequest;
+
+import java.util.Map;
+
+/**
+ * Builds the shareit-server calls behind the item request endpoints, for both gateway modes and for batch reads.
+ */
+public final class ItemRequestApi {
+    public static final String PATH = "/requests";
+
+    private ItemRequestApi() {
+    }
+
+    public static ServerRequest create(ItemRequestDto itemDto, Long userId) {
+        return ServerRequest.post("/", itemDto).userId(userId).build();
+    }
+
+    public static ServerRequest findById(Long requestId, Long userId, String ifNoneMatch) {
+        return ServerRequest.get("/" + requestId).userId(userId).cached(true).ifNoneMatch(ifNoneMatch).build();
+    }
+
+    public static ServerRequest findByUserId(Long userId) {
+        return ServerRequest.get("/").userId(userId).build();
+    }
+
+    public static ServerRequest findAll(Long userId, Integer from, Integer size) {
+        return ServerRequest.get("/all?from={from}&size={size}")
+                .userId(userId)
+                .parameters(Map.of(
+                        "from", from,
+                        "size", size
+                ))
+                .build();
+    }
+}
@@ -2,47 +2,27 @@ package ru.practicum.shareit.request;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.web.client.RestTemplateBuilder;
-import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ServerResponseCache;
 
 
-import java.util.Map;
-
 @Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class ItemRequestClient extends BaseClient {
-    private static final String API_PREFIX = "/requests";
-
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                             RequestCoalescer requestCoalescer, ServerResponseCache responseCache) {
         super(builder
-                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                .build()
-        );
-    }
-
-    public ResponseEntity<Object> create(ItemRequestDto itemDto, Long userId) {
-        return post("/", userId, itemDto);
-    }
-
-    public ResponseEntity<Object> findById(Long requestId, Long userId) {
-        return get("/" + requestId, userId);
-    }
-
-    public ResponseEntity<Object> findByUserId(Long userId) {
-        return get("/", userId);
-    }
-
-    public ResponseEntity<Object> findAll(Long userId, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "from", from,
-                "size", size
+                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + ItemRequestApi.PATH))
+                .build(),
+                requestCoalescer,
+                responseCache
         );
-        return get("/all?from={from}&size={size}", userId, parameters);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,54 @@
+package ru.practicum.shareit.user;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.client.ServerClient;
+
+import javax.validation.Valid;
+
+/**
+ * User endpoints and their validation, shared by the servlet and reactive gateways. Each mode only supplies
+ * the client that sends the calls.
+ */
+@RequestMapping(path = UserApi.PATH)
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+public abstract class AbstractUserController<R> {
+    private final ServerClient<R> userClient;
+
+    @PostMapping
+    public R create(@Valid @RequestBody UserDto userDto) {
+        log.info("Create user");
+        return userClient.exchange(UserApi.create(userDto));
+    }
+
+    @PatchMapping(value = "/{id}")
+    public R update(@PathVariable Long id, @RequestBody UserDto userDto) {
+        log.info("Update user {}", id);
+        return userClient.exchange(UserApi.update(id, userDto));
+    }
+
+    @GetMapping(value = "/{id}")
+    public R findById(@PathVariable Long id,
+                      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        log.info("Get user {}", id);
+        return userClient.exchange(UserApi.findById(id, ifNoneMatch));
+    }
+
+    @GetMapping
+    public R findAll(@RequestParam(defaultValue = "0") Integer from,
+                     @RequestParam(defaultValue = "10") Integer size) {
+        log.info("Get all users");
+        return userClient.exchange(UserApi.findAll());
+    }
+
+    @DeleteMapping(value = "/{id}")
+    public R deleteById(@PathVariable Long id) {
+        log.info("Delete user {}", id);
+        return userClient.exchange(UserApi.deleteById(id));
+    }
+}
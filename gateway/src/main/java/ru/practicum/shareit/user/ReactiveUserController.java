@@ -0,0 +1,16 @@
+package ru.practicum.shareit.user;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveUserController extends AbstractUserController<Mono<ResponseEntity<Flux<DataBuffer>>>> {
+    public ReactiveUserController(ReactiveUserClient userClient) {
+        super(userClient);
+    }
+}
@@ -0,0 +1,33 @@
+package ru.practicum.shareit.user;
+
+import ru.practicum.shareit.client.ServerRequest;
+
+/**
+ * Builds the shareit-server calls behind the user endpoints, for both gateway modes and for batch reads.
+ */
+public final class UserApi {
+    public static final String PATH = "/users";
+
+    private UserApi() {
+    }
+
+    public static ServerRequest create(UserDto userDto) {
+        return ServerRequest.post("", userDto).build();
+    }
+
+    public static ServerRequest update(Long id, UserDto userDto) {
+        return ServerRequest.patch("/" + id).body(userDto).build();
+    }
+
+    public static ServerRequest findById(Long id, String ifNoneMatch) {
+        return ServerRequest.get("/" + id).cached(true).ifNoneMatch(ifNoneMatch).build();
+    }
+
+    public static ServerRequest findAll() {
+        return ServerRequest.get("").build();
+    }
+
+    public static ServerRequest deleteById(Long id) {
+        return ServerRequest.delete("/" + id).build();
+    }
+}
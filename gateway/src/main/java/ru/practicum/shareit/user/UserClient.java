@@ -2,45 +2,27 @@ package ru.practicum.shareit.user;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.web.client.RestTemplateBuilder;
-import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ServerResponseCache;
 
 
 @Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class UserClient extends BaseClient {
-    private static final String API_PREFIX = "/users";
-
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      RequestCoalescer requestCoalescer, ServerResponseCache responseCache) {
         super(builder
-                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                .build()
+                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + UserApi.PATH))
+                .build(),
+                requestCoalescer,
+                responseCache
         );
     }
-
-    public ResponseEntity<Object> create(UserDto userDto) {
-        return post("", userDto);
-    }
-
-    public ResponseEntity<Object> update(Long id, UserDto userDto) {
-        return patch("/" + id, userDto);
-    }
-
-    public ResponseEntity<Object> findById(Long id) {
-        return get("/" + id);
-    }
-
-    public ResponseEntity<Object> findAll() {
-        return get("");
-    }
-
-    public ResponseEntity<Object> deleteById(Long id) {
-        return delete("/" + id);
-    }
-}
\ No newline at end of file
+}
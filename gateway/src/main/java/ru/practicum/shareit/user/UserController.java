@@ -1,50 +1,13 @@
 package ru.practicum.shareit.user;
 
-import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
-import org.springframework.validation.annotation.Validated;
-import org.springframework.web.bind.annotation.*;
-
-
-import javax.validation.Valid;
+import org.springframework.web.bind.annotation.RestController;
 
 @RestController
-@RequestMapping(path = "/users")
-@RequiredArgsConstructor
-@Slf4j
-@Validated
-public class UserController {
-    private final UserClient userClient;
-
-    @PostMapping
-    public ResponseEntity<Object> create(@Valid @RequestBody UserDto userDto) {
-        log.info("Create user");
-        return userClient.create(userDto);
-    }
-
-    @PatchMapping(value = "/{id}")
-    public ResponseEntity<Object> update(@PathVariable Long id, @RequestBody UserDto userDto) {
-        log.info("Update user {}", id);
-        return userClient.update(id, userDto);
-    }
-
-    @GetMapping(value = "/{id}")
-    public ResponseEntity<Object> findById(@PathVariable Long id) {
-        log.info("Get user {}", id);
-        return userClient.findById(id);
-    }
-
-    @GetMapping
-    public ResponseEntity<Object> findAll(@RequestParam(defaultValue = "0") Integer from,
-                                          @RequestParam(defaultValue = "10") Integer size) {
-        log.info("Get all users");
-        return userClient.findAll();
-    }
-
-    @DeleteMapping(value = "/{id}")
-    public ResponseEntity<Object> deleteById(@PathVariable Long id) {
-        log.info("Delete user {}", id);
-        return userClient.deleteById(id);
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class UserController extends AbstractUserController<ResponseEntity<Object>> {
+    public UserController(UserClient userClient) {
+        super(userClient);
     }
-}
\ No newline at end of file
+}
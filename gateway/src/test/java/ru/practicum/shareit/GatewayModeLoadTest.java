@@ -0,0 +1,168 @@
+package ru.practicum.shareit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Sends the same burst of concurrent requests through each gateway mode to a server stub that answers
+ * after a fixed delay, and compares wall time and peak thread count.
+ * <p>
+ * The servlet gateway holds a Tomcat worker per in-flight request, so the burst is served in waves of
+ * {@value #TOMCAT_THREADS}; the reactive gateway keeps every request in flight on a few event loop threads,
+ * and with virtual threads the servlet gateway is bounded by its HTTP client pool instead of by Tomcat.
+ * Wall times are logged rather than asserted, since on a small machine every mode is bound by CPU. Tagged
+ * {@code load}, so it only runs with {@code mvn test -P load}.
+ */
+@Slf4j
+@Tag("load")
+class GatewayModeLoadTest {
+    private static final int CONCURRENCY = 1_000;
+    private static final int MAX_CONCURRENCY = 5_000;
+    private static final int TOMCAT_THREADS = 200;
+    private static final int HTTP_CLIENT_CONNECTIONS = 1_000;
+    private static final Duration SERVER_DELAY = Duration.ofMillis(300);
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static LoopResources loops;
+    private static DisposableServer server;
+    private static ConnectionProvider connectionProvider;
+
+    @BeforeAll
+    static void startServerStub() {
+        loops = LoopResources.create("load-test");
+        server = HttpServer.create()
+                .runOn(loops)
+                .port(0)
+                .route(routes -> routes.get("/users/{id}", (request, response) -> response
+                        .header("Content-Type", "application/json")
+                        .sendString(Mono.just("{\"id\":" + request.param("id") + ",\"name\":\"User\"}").delayElement(SERVER_DELAY))))
+                .bindNow();
+        connectionProvider = ConnectionProvider.builder("load-test")
+                .maxConnections(MAX_CONCURRENCY)
+                .pendingAcquireMaxCount(-1)
+                .build();
+    }
+
+    @AfterAll
+    static void stopServerStub() {
+        connectionProvider.dispose();
+        server.disposeNow();
+        loops.dispose();
+    }
+
+    @Test
+    void reactiveGatewayShouldHoldBurstWithFewThreads() {
+        Result servlet = run(WebApplicationType.SERVLET, CONCURRENCY);
+        Result reactive = run(WebApplicationType.REACTIVE, CONCURRENCY);
+        log.info("{} concurrent requests, server delay {} ms: servlet {} ms with {} peak threads, reactive {} ms with {} peak threads",
+                CONCURRENCY, SERVER_DELAY.toMillis(), servlet.elapsedMillis, servlet.peakThreads, reactive.elapsedMillis, reactive.peakThreads);
+
+        assertTrue(servlet.elapsedMillis >= SERVER_DELAY.toMillis() * (CONCURRENCY / TOMCAT_THREADS - 1),
+                "Servlet gateway should need several waves, took " + servlet.elapsedMillis + " ms");
+        assertTrue(reactive.peakThreads < servlet.peakThreads,
+                "Reactive gateway peaked at " + reactive.peakThreads + " threads, servlet at " + servlet.peakThreads);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {CONCURRENCY, MAX_CONCURRENCY})
+    void virtualThreadsShouldServeBurstBeyondTomcatPool(int concurrency) {
+        assumeTrue(virtualThreadsAvailable(), "Virtual threads need JDK 21, running on " + Runtime.version());
+        Result platform = run(WebApplicationType.SERVLET, concurrency);
+        Result virtual = run(WebApplicationType.SERVLET, concurrency, "--shareit.virtual-threads.enabled=true");
+        log.info("{} concurrent requests, server delay {} ms: platform threads {} req/s with {} peak threads, virtual threads {} req/s with {} peak threads",
+                concurrency, SERVER_DELAY.toMillis(), platform.throughput(concurrency), platform.peakThreads,
+                virtual.throughput(concurrency), virtual.peakThreads);
+
+        assertTrue(platform.elapsedMillis >= SERVER_DELAY.toMillis() * (concurrency / TOMCAT_THREADS - 1),
+                "Platform threads should need several waves, took " + platform.elapsedMillis + " ms");
+        assertTrue(virtual.peakThreads < platform.peakThreads,
+                "Virtual threads peaked at " + virtual.peakThreads + " platform threads, Tomcat pool at " + platform.peakThreads);
+    }
+
+    private Result run(WebApplicationType type, int concurrency, String... extraArgs) {
+        List<String> args = new ArrayList<>(List.of("--server.port=0",
+                "--server.tomcat.threads.max=" + TOMCAT_THREADS,
+                "--shareit-server.url=http://localhost:" + server.port(),
+                "--shareit-server.http-client.max-total=" + HTTP_CLIENT_CONNECTIONS,
+                "--shareit-server.http-client.max-per-route=" + HTTP_CLIENT_CONNECTIONS,
+                "--shareit-server.http-client.connection-request-timeout=30s",
+                "--shareit-server.resilience.bulkhead.other=" + MAX_CONCURRENCY,
+                "--logging.level.ru.practicum.shareit.user=WARN",
+                "--logging.level.org.springframework.web.client.RestTemplate=WARN"));
+        args.addAll(List.of(extraArgs));
+        try (ConfigurableApplicationContext gateway = new SpringApplicationBuilder(ShareItGateway.class)
+                .web(type)
+                .run(args.toArray(String[]::new))) {
+            HttpClient client = HttpClient.create(connectionProvider)
+                    .runOn(loops)
+                    .baseUrl("http://localhost:" + gateway.getEnvironment().getProperty("local.server.port"))
+                    .responseTimeout(Duration.ofSeconds(30));
+
+            burst(client, TOMCAT_THREADS);
+            THREADS.resetPeakThreadCount();
+            long started = System.nanoTime();
+            List<Integer> statuses = burst(client, concurrency);
+            long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+            assertEquals(concurrency, statuses.size());
+            assertTrue(statuses.stream().allMatch(status -> status == 200), "Unexpected statuses " + statuses);
+            return new Result(elapsedMillis, THREADS.getPeakThreadCount());
+        }
+    }
+
+    private List<Integer> burst(HttpClient client, int requests) {
+        return Flux.range(1, requests)
+                .flatMap(i -> client.get()
+                        .uri("/users/" + i)
+                        .responseSingle((response, body) -> body.then(Mono.just(response.status().code()))), requests)
+                .collectList()
+                .block(Duration.ofMinutes(1));
+    }
+
+    private static boolean virtualThreadsAvailable() {
+        try {
+            VirtualThreadConfig.newVirtualThreadPerTaskExecutor().shutdown();
+            return true;
+        } catch (IllegalStateException e) {
+            return false;
+        }
+    }
+
+    private static class Result {
+        private final long elapsedMillis;
+        private final int peakThreads;
+
+        private Result(long elapsedMillis, int peakThreads) {
+            this.elapsedMillis = elapsedMillis;
+            this.peakThreads = peakThreads;
+        }
+
+        private long throughput(int requests) {
+            return requests * 1_000L / Math.max(elapsedMillis, 1);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Sends the same requests through both gateway modes to a server stub that echoes what it received, and
+ * checks that the modes validate them and call the server alike. Error bodies are compared without their
+ * timestamps.
+ */
+class GatewayModesTest {
+    private static final String ETAG = "\"7\"";
+    private static final HttpClient HTTP = HttpClient.newHttpClient();
+    private static DisposableServer server;
+    private static ConfigurableApplicationContext servletGateway;
+    private static ConfigurableApplicationContext reactiveGateway;
+
+    @BeforeAll
+    static void start() {
+        server = HttpServer.create()
+                .port(0)
+                .route(routes -> routes.route(request -> true, (request, response) -> {
+                    if (ETAG.equals(request.requestHeaders().get("If-None-Match"))) {
+                        return response.status(304).header("ETag", ETAG).send();
+                    }
+                    return response
+                            .header("Content-Type", "application/json")
+                            .header("ETag", ETAG)
+                            .sendString(Mono.just("{\"method\":\"" + request.method() + "\",\"uri\":\"" + request.uri()
+                                    + "\",\"userId\":\"" + request.requestHeaders().get("X-Sharer-User-Id") + "\"}"));
+                }))
+                .bindNow();
+        servletGateway = start(WebApplicationType.SERVLET);
+        reactiveGateway = start(WebApplicationType.REACTIVE);
+    }
+
+    @AfterAll
+    static void stop() {
+        servletGateway.close();
+        reactiveGateway.close();
+        server.disposeNow();
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "GET   | /users/1                                         |                                 |       | 200",
+            "GET   | /users/1                                         |                                 | \"7\" | 304",
+            "POST  | /users                                            | {\"name\":\"U\",\"email\":\"u@u.ru\"} |  | 200",
+            "POST  | /users                                            | {\"name\":\"U\",\"email\":\"bad\"} |    | 400",
+            "PATCH | /users/1                                         | {\"name\":\"V\"}                 |       | 200",
+            "DELETE| /users/1                                         |                                 |       | 200",
+            "GET   | /items/2                                         |                                 | \"7\" | 304",
+            "GET   | /items/search?text=drill                         |                                 |       | 200",
+            "GET   | /items/search?text=                              |                                 |       | 200",
+            "POST  | /items/2/comment                                 | {\"text\":\"\"}                  |       | 400",
+            "GET   | /requests/all?from=20&size=10                    |                                 |       | 200",
+            "GET   | /requests/all?from=-1                            |                                 |       | 500",
+            "GET   | /requests/3                                      |                                 | \"7\" | 304",
+            "PATCH | /bookings/4?approved=true                        |                                 |       | 200",
+            "GET   | /bookings?state=PAST&from=5&size=3               |                                 |       | 200",
+            "GET   | /bookings/owner?state=FUTURE&size=3&cursor=abc   |                                 |       | 200",
+            "GET   | /bookings/owner?state=UNKNOWN                    |                                 |       | 500",
+            "GET   | /bookings?size=0                                 |                                 |       | 500",
+            "POST  | /bookings                                        | {\"start\":\"2000-01-01T00:00:00\"} |    | 400"
+    })
+    void shouldHandleRequestAlikeInBothModes(String method, String path, String body, String ifNoneMatch, int status)
+            throws IOException, InterruptedException {
+        HttpResponse<String> servlet = send(servletGateway, method, path, body, ifNoneMatch);
+        HttpResponse<String> reactive = send(reactiveGateway, method, path, body, ifNoneMatch);
+
+        assertEquals(status, servlet.statusCode(), servlet.body());
+        assertEquals(status, reactive.statusCode(), reactive.body());
+        assertEquals(withoutTimestamp(servlet.body()), withoutTimestamp(reactive.body()));
+    }
+
+    private static String withoutTimestamp(String body) {
+        return body.replaceFirst("\"timestamp\":\"[^\"]*\",", "");
+    }
+
+    private static ConfigurableApplicationContext start(WebApplicationType type) {
+        return new SpringApplicationBuilder(ShareItGateway.class)
+                .web(type)
+                .run("--server.port=0", "--shareit-server.url=http://localhost:" + server.port());
+    }
+
+    private static HttpResponse<String> send(ConfigurableApplicationContext gateway, String method, String path,
+                                             String body, String ifNoneMatch) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:" + gateway.getEnvironment().getProperty("local.server.port") + path))
+                .header("Content-Type", "application/json")
+                .header("X-Sharer-User-Id", "1")
+                .method(method, body != null ? HttpRequest.BodyPublishers.ofString(body) : HttpRequest.BodyPublishers.noBody());
+        if (ifNoneMatch != null) {
+            request.header("If-None-Match", ifNoneMatch);
+        }
+        return HTTP.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,170 @@
+package ru.practicum.shareit.batch;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import ru.practicum.shareit.booking.BookingClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ServerResponseCache;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.ratelimit.RateLimitProperties;
+import ru.practicum.shareit.ratelimit.TokenBucketRateLimiter;
+import ru.practicum.shareit.request.ItemRequestClient;
+import ru.practicum.shareit.user.UserClient;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BatchClientTest {
+    private static final Duration SERVER_DELAY = Duration.ofMillis(300);
+    private static DisposableServer server;
+    private BatchClient batchClient;
+
+    @BeforeAll
+    static void startServerStub() {
+        server = HttpServer.create()
+                .port(0)
+                .route(routes -> routes
+                        .get("/users/{id}", (request, response) -> response
+                                .header("Content-Type", "application/json")
+                                .sendString(Mono.just("{\"id\":" + request.param("id") + "}").delayElement(SERVER_DELAY)))
+                        .get("/items/search", (request, response) -> response
+                                .header("Content-Type", "application/json")
+                                .sendString(Mono.just("[]")))
+                        .get("/bookings/owner", (request, response) -> response
+                                .header("Content-Type", "application/json")
+                                .sendString(Mono.just("[{\"query\":\"" + request.uri().split("\\?", 2)[1] + "\"}]")))
+                        .get("/bookings/{id}", (request, response) -> response
+                                .status(404)
+                                .header("Content-Type", "application/json")
+                                .sendString(Mono.just("{\"error\":\"Booking not found\"}"))))
+                .bindNow();
+    }
+
+    @AfterAll
+    static void stopServerStub() {
+        server.disposeNow();
+    }
+
+    @AfterEach
+    void tearDown() {
+        batchClient.destroy();
+    }
+
+    @Test
+    void shouldRunReadsInParallel() {
+        batchClient = batchClient(null);
+        List<SubRequestDto> requests = List.of(
+                new SubRequestDto("first", "/users/1"),
+                new SubRequestDto("second", "/users/2"),
+                new SubRequestDto("third", "/users/3"),
+                new SubRequestDto("fourth", "/users/4"));
+
+        long started = System.nanoTime();
+        List<SubResponseDto> responses = batchClient.execute(requests, 1L);
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        assertEquals(4, responses.size());
+        for (int i = 0; i < requests.size(); i++) {
+            assertEquals(requests.get(i).getId(), responses.get(i).getId());
+            assertEquals(200, responses.get(i).getStatus());
+            assertEquals("{\"id\":" + (i + 1) + "}", responses.get(i).getBody());
+        }
+        assertTrue(elapsedMillis < SERVER_DELAY.toMillis() * 3, "Batch took " + elapsedMillis + " ms");
+    }
+
+    @Test
+    void shouldReportEachReadOnItsOwn() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setSearch(new RateLimitProperties.Limit(1, 0.01));
+        batchClient = batchClient(new TokenBucketRateLimiter(properties, new SimpleMeterRegistry()));
+
+        List<SubResponseDto> responses = batchClient.execute(List.of(
+                new SubRequestDto("booking", "/bookings/1"),
+                new SubRequestDto("search", "/items/search?text=drill"),
+                new SubRequestDto("again", "/items/search?text=saw")), 1L);
+
+        assertEquals(404, responses.get(0).getStatus());
+        assertEquals("{\"error\":\"Booking not found\"}", responses.get(0).getBody());
+        List<SubResponseDto> searches = responses.subList(1, 3);
+        assertEquals(1, searches.stream().filter(response -> response.getStatus() == 200 && "[]".equals(response.getBody())).count());
+        assertEquals(1, searches.stream().filter(response -> response.getStatus() == 429
+                && response.getBody().contains("\"status\":429")).count());
+    }
+
+    @Test
+    void shouldForwardValidReadsThroughTheirEndpoints() {
+        batchClient = batchClient(null);
+
+        List<SubResponseDto> responses = batchClient.execute(List.of(
+                new SubRequestDto("owner", "/bookings/owner?state=WAITING&from=5&size=2"),
+                new SubRequestDto("blank", "/items/search?text=%20")), 1L);
+
+        assertEquals(200, responses.get(0).getStatus());
+        assertEquals("[{\"query\":\"state=WAITING&from=5&size=2\"}]", responses.get(0).getBody());
+        assertEquals(200, responses.get(1).getStatus());
+        assertEquals("[]", responses.get(1).getBody());
+    }
+
+    @Test
+    void shouldRejectUnknownPathsAndInvalidReads() {
+        batchClient = batchClient(null);
+        List<SubRequestDto> requests = List.of(
+                new SubRequestDto("unknown", "/admin/users"),
+                new SubRequestDto("write", "/bookings/1/approve"),
+                new SubRequestDto("id", "/users/0"),
+                new SubRequestDto("notId", "/items/abc"),
+                new SubRequestDto("state", "/bookings?state=UNKNOWN"),
+                new SubRequestDto("from", "/bookings?from=-1"),
+                new SubRequestDto("size", "/requests/all?size=0"),
+                new SubRequestDto("text", "/items/search"));
+
+        List<SubResponseDto> responses = batchClient.execute(requests, 1L);
+
+        for (int i = 0; i < requests.size(); i++) {
+            assertEquals(requests.get(i).getId(), responses.get(i).getId());
+            assertEquals(400, responses.get(i).getStatus(), requests.get(i).getPath());
+        }
+        assertTrue(responses.get(0).getBody().contains("Unknown path: /admin/users"));
+        assertTrue(responses.get(4).getBody().contains("Unknown state: UNKNOWN"));
+    }
+
+    @Test
+    void shouldRequireUserForUserScopedReads() {
+        batchClient = batchClient(null);
+
+        List<SubResponseDto> responses = batchClient.execute(List.of(
+                new SubRequestDto("user", "/users/1"),
+                new SubRequestDto("bookings", "/bookings")), null);
+
+        assertEquals(200, responses.get(0).getStatus());
+        assertEquals(400, responses.get(1).getStatus());
+    }
+
+    private static BatchClient batchClient(TokenBucketRateLimiter rateLimiter) {
+        String serverUrl = "http://localhost:" + server.port();
+        RequestCoalescer coalescer = new RequestCoalescer(new SimpleMeterRegistry());
+        ServerResponseCache cache = new ServerResponseCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(10));
+        BatchRoutes routes = new BatchRoutes(
+                new UserClient(serverUrl, new RestTemplateBuilder(), coalescer, cache),
+                new ItemClient(serverUrl, new RestTemplateBuilder(), coalescer, cache),
+                new BookingClient(serverUrl, new RestTemplateBuilder(), coalescer),
+                new ItemRequestClient(serverUrl, new RestTemplateBuilder(), coalescer, cache));
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory(
+                rateLimiter != null ? Map.of("rateLimiter", rateLimiter) : Map.of());
+        return new BatchClient(routes, beanFactory.getBeanProvider(TokenBucketRateLimiter.class),
+                Jackson2ObjectMapperBuilder.json().build(), 4, 10, false);
+    }
+}
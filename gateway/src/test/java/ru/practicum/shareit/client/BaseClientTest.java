@@ -0,0 +1,114 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static ru.practicum.shareit.constants.ConstantsUtil.NEXT_CURSOR_HEADER;
+
+class BaseClientTest {
+    private static final String SERVER_URL = "http://shareit-server";
+    private MockRestServiceServer server;
+    private TestClient client;
+
+    @BeforeEach
+    void setUp() {
+        RestTemplate rest = new RestTemplateBuilder().rootUri(SERVER_URL).build();
+        server = MockRestServiceServer.bindTo(rest).build();
+        client = new TestClient(rest);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.verify();
+    }
+
+    @Test
+    void shouldRelayBodyBytesAndDescribingHeadersUnchanged() {
+        byte[] body = "[{\"id\":1,\"name\":\"Дрель\",\"description\":\"  spaced  \\u00e9 \"}]".getBytes(StandardCharsets.UTF_8);
+        HttpHeaders serverHeaders = new HttpHeaders();
+        serverHeaders.set(HttpHeaders.CONTENT_TYPE, "application/json;charset=UTF-8");
+        serverHeaders.setETag("\"42\"");
+        serverHeaders.set(NEXT_CURSOR_HEADER, "MjAyNi0xMC0xOFQxMDowMDowMCw3");
+        serverHeaders.set("X-Internal", "server-only");
+        server.expect(requestTo(SERVER_URL + "/items?from=0&size=10"))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(header("X-Sharer-User-Id", "7"))
+                .andRespond(withStatus(HttpStatus.OK).headers(serverHeaders).body(body));
+
+        ResponseEntity<Object> response = client.get("/items?from={from}&size={size}", 7L, Map.of("from", 0, "size", 10));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertArrayEquals(body, (byte[]) response.getBody());
+        assertEquals(List.of("application/json;charset=UTF-8"), response.getHeaders().get(HttpHeaders.CONTENT_TYPE));
+        assertEquals("\"42\"", response.getHeaders().getETag());
+        assertEquals("MjAyNi0xMC0xOFQxMDowMDowMCw3", response.getHeaders().getFirst(NEXT_CURSOR_HEADER));
+        assertEquals(BaseClient.PASS_THROUGH_HEADERS.size(), response.getHeaders().size());
+        assertFalse(response.getHeaders().containsKey("X-Internal"));
+    }
+
+    @Test
+    void shouldRelayClientErrorStatusAndBody() {
+        byte[] body = "{\"error\":\"Item with id 99 not found\"}".getBytes(StandardCharsets.UTF_8);
+        server.expect(requestTo(SERVER_URL + "/items/99"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND).contentType(MediaType.APPLICATION_JSON).body(body));
+
+        ResponseEntity<Object> response = client.get("/items/99", 7L);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertArrayEquals(body, (byte[]) response.getBody());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+    }
+
+    @Test
+    void shouldRelayServerErrorStatusAndBody() {
+        byte[] body = "{\"error\":\"Unknown state: UNSUPPORTED_STATUS\"}".getBytes(StandardCharsets.UTF_8);
+        server.expect(requestTo(SERVER_URL + "/bookings"))
+                .andExpect(method(HttpMethod.POST))
+                .andRespond(withStatus(HttpStatus.INTERNAL_SERVER_ERROR).contentType(MediaType.APPLICATION_JSON).body(body));
+
+        ResponseEntity<Object> response = client.post("/bookings", 7L, Map.of("itemId", 1));
+
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
+        assertArrayEquals(body, (byte[]) response.getBody());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+    }
+
+    @Test
+    void shouldRelayEmptyBodyWithoutContent() {
+        server.expect(requestTo(SERVER_URL + "/items/1"))
+                .andExpect(method(HttpMethod.DELETE))
+                .andRespond(withStatus(HttpStatus.OK));
+
+        ResponseEntity<Object> response = client.delete("/items/1", 7L);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNull(response.getBody());
+    }
+
+    private static class TestClient extends BaseClient {
+        TestClient(RestTemplate rest) {
+            super(rest);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ClientMetricsConfigTest {
+    @Test
+    void shouldReplaceIdsInPath() {
+        assertEquals("/users/{id}", ClientMetricsConfig.uri(URI.create("http://localhost:9090/users/42")));
+        assertEquals("/items/{id}/comment", ClientMetricsConfig.uri(URI.create("http://localhost:9090/items/7/comment")));
+        assertEquals("/bookings/{id}", ClientMetricsConfig.uri(URI.create("http://localhost:9090/bookings/3?approved=true")));
+    }
+
+    @Test
+    void shouldKeepPathsWithoutIds() {
+        assertEquals("/items/search", ClientMetricsConfig.uri(URI.create("http://localhost:9090/items/search?text=drill")));
+        assertEquals("/requests/all", ClientMetricsConfig.uri(URI.create("http://localhost:9090/requests/all")));
+        assertEquals("/users/v2", ClientMetricsConfig.uri(URI.create("http://localhost:9090/users/v2")));
+        assertEquals("/bookings", ClientMetricsConfig.uri(URI.create("http://localhost:9090/bookings/?state=ALL")));
+        assertEquals("/", ClientMetricsConfig.uri(URI.create("http://localhost:9090")));
+    }
+}
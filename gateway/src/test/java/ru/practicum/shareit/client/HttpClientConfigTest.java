@@ -0,0 +1,84 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.Configurable;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.InterceptingClientHttpRequestFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import ru.practicum.shareit.booking.BookingClient;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.request.ItemRequestClient;
+import ru.practicum.shareit.user.UserClient;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+@SpringBootTest(properties = {
+        "shareit-server.http-client.max-total=23",
+        "shareit-server.http-client.max-per-route=17",
+        "shareit-server.http-client.connect-timeout=1500ms",
+        "shareit-server.http-client.connection-request-timeout=700ms",
+        "shareit-server.http-client.socket-timeout=9s"
+})
+class HttpClientConfigTest {
+    private static final String POOL = "shareit-server";
+    @Autowired
+    private UserClient userClient;
+    @Autowired
+    private ItemClient itemClient;
+    @Autowired
+    private BookingClient bookingClient;
+    @Autowired
+    private ItemRequestClient itemRequestClient;
+    @Autowired
+    private CloseableHttpClient serverHttpClient;
+    @Autowired
+    private PoolingHttpClientConnectionManager serverConnectionManager;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldSendEveryClientThroughPooledHttpClient() {
+        for (BaseClient client : List.of(userClient, itemClient, bookingClient, itemRequestClient)) {
+            ClientHttpRequestFactory requestFactory = client.rest.getRequestFactory();
+            if (requestFactory instanceof InterceptingClientHttpRequestFactory) {
+                requestFactory = (ClientHttpRequestFactory) ReflectionTestUtils.getField(requestFactory, "requestFactory");
+            }
+            assertInstanceOf(ResilientRequestFactory.class, requestFactory);
+
+            Object delegate = ReflectionTestUtils.getField(requestFactory, "requestFactory");
+            assertInstanceOf(HttpComponentsClientHttpRequestFactory.class, delegate);
+            assertSame(serverHttpClient, ((HttpComponentsClientHttpRequestFactory) delegate).getHttpClient());
+        }
+    }
+
+    @Test
+    void shouldConfigurePoolAndTimeouts() {
+        assertEquals(23, serverConnectionManager.getMaxTotal());
+        assertEquals(17, serverConnectionManager.getDefaultMaxPerRoute());
+
+        RequestConfig config = ((Configurable) serverHttpClient).getConfig();
+        assertEquals(1500, config.getConnectTimeout());
+        assertEquals(700, config.getConnectionRequestTimeout());
+        assertEquals(9000, config.getSocketTimeout());
+    }
+
+    @Test
+    void shouldRegisterPoolGauges() {
+        assertEquals(23, meterRegistry.get("httpcomponents.httpclient.pool.total.max").tag("httpclient", POOL).gauge().value());
+        assertEquals(17, meterRegistry.get("httpcomponents.httpclient.pool.route.max.default").tag("httpclient", POOL).gauge().value());
+        assertEquals(0, meterRegistry.get("httpcomponents.httpclient.pool.total.connections")
+                .tag("httpclient", POOL).tag("state", "leased").gauge().value());
+        assertEquals(0, meterRegistry.get("httpcomponents.httpclient.pool.total.pending").tag("httpclient", POOL).gauge().value());
+    }
+}
@@ -0,0 +1,166 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.StreamUtils;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.server.HttpServer;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JdkClientHttpRequestFactoryTest {
+    private static final String ITEMS = "[" + "{\"name\":\"Drill\",\"description\":\"Good drill\"},".repeat(100) + "{}]";
+    private static final int CALLERS = 5;
+    private static DisposableServer server;
+    private final HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_2).build();
+    private final JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient, Duration.ofSeconds(5));
+
+    @BeforeAll
+    static void startServerStub() {
+        server = HttpServer.create()
+                .port(0)
+                .protocol(HttpProtocol.HTTP11, HttpProtocol.H2C)
+                .compress(true)
+                .httpRequestDecoder(decoder -> decoder.h2cMaxContentLength(1024))
+                .route(routes -> routes
+                        .get("/items", (request, response) -> response
+                                .header("Content-Type", "application/json")
+                                .header("X-Client-Port", String.valueOf(request.remoteAddress().getPort()))
+                                .sendString(Mono.just(ITEMS).delayElement(Duration.ofMillis(100))))
+                        .post("/echo", (request, response) -> response
+                                .header("Content-Type", "application/json")
+                                .header("X-Sharer-User-Id", request.requestHeaders().get("X-Sharer-User-Id"))
+                                .send(request.receive().retain()))
+                        .get("/not-modified", (request, response) -> response
+                                .status(304)
+                                .header("Content-Encoding", "gzip")
+                                .header("ETag", "\"1\"")
+                                .send())
+                        .get("/no-content", (request, response) -> response
+                                .status(204)
+                                .header("Content-Encoding", "gzip")
+                                .send())
+                        .get("/slow", (request, response) -> response
+                                .sendString(Mono.just("late").delayElement(Duration.ofSeconds(2)))))
+                .bindNow();
+    }
+
+    @AfterAll
+    static void stopServerStub() {
+        server.disposeNow();
+    }
+
+    @Test
+    void shouldMultiplexOverHttp2AndDecodeGzip() throws Exception {
+        assertEquals(ITEMS, readItems().getBody());
+
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        try {
+            List<Future<ResponseEntity<String>>> results = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(this::readItems));
+            }
+
+            Set<String> clientPorts = new HashSet<>();
+            for (Future<ResponseEntity<String>> result : results) {
+                ResponseEntity<String> response = result.get(10, TimeUnit.SECONDS);
+                assertEquals(ITEMS, response.getBody());
+                assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+                clientPorts.add(response.getHeaders().getFirst("X-Client-Port"));
+            }
+            assertEquals(1, clientPorts.size(), "Requests used connections from ports " + clientPorts);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldSendBodyAndHeaders() throws IOException {
+        ClientHttpRequest request = requestFactory.createRequest(uri("/echo"), HttpMethod.POST);
+        request.getHeaders().set("X-Sharer-User-Id", "1");
+        request.getHeaders().setContentLength(2);
+        request.getBody().write("{}".getBytes(StandardCharsets.UTF_8));
+
+        try (ClientHttpResponse response = request.execute()) {
+            assertEquals(200, response.getRawStatusCode());
+            assertEquals("1", response.getHeaders().getFirst("X-Sharer-User-Id"));
+            assertEquals("{}", StreamUtils.copyToString(response.getBody(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void shouldStreamBodyWhenNotBuffered() throws IOException {
+        String items = ITEMS.repeat(20);
+        JdkClientHttpRequestFactory streaming = new JdkClientHttpRequestFactory(httpClient, Duration.ofSeconds(5));
+        streaming.setBufferRequestBody(false);
+        try (ClientHttpResponse upgrade = streaming.createRequest(uri("/items"), HttpMethod.GET).execute()) {
+            assertEquals(ITEMS, StreamUtils.copyToString(upgrade.getBody(), StandardCharsets.UTF_8));
+        }
+
+        ClientHttpRequest request = streaming.createRequest(uri("/echo"), HttpMethod.POST);
+        assertTrue(request instanceof StreamingHttpOutputMessage);
+        request.getHeaders().set("X-Sharer-User-Id", "1");
+        ((StreamingHttpOutputMessage) request).setBody(out -> out.write(items.getBytes(StandardCharsets.UTF_8)));
+
+        try (ClientHttpResponse response = request.execute()) {
+            assertEquals(200, response.getRawStatusCode());
+            assertEquals(items, StreamUtils.copyToString(response.getBody(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void shouldReadEmptyGzipBodyOfNotModifiedAndNoContent() throws IOException {
+        for (String path : List.of("/not-modified", "/no-content")) {
+            try (ClientHttpResponse response = requestFactory.createRequest(uri(path), HttpMethod.GET).execute()) {
+                assertEquals(path.equals("/not-modified") ? 304 : 204, response.getRawStatusCode());
+                assertEquals(0, StreamUtils.copyToByteArray(response.getBody()).length);
+            }
+        }
+    }
+
+    @Test
+    void shouldTimeOutLikeSocketRead() {
+        JdkClientHttpRequestFactory impatient = new JdkClientHttpRequestFactory(httpClient, Duration.ofMillis(200));
+
+        assertThrows(SocketTimeoutException.class, () -> impatient.createRequest(uri("/slow"), HttpMethod.GET).execute());
+    }
+
+    private ResponseEntity<String> readItems() throws IOException {
+        try (ClientHttpResponse response = requestFactory.createRequest(uri("/items"), HttpMethod.GET).execute()) {
+            return ResponseEntity.status(response.getRawStatusCode())
+                    .headers(response.getHeaders())
+                    .body(StreamUtils.copyToString(response.getBody(), StandardCharsets.UTF_8));
+        }
+    }
+
+    private static URI uri(String path) {
+        return URI.create("http://localhost:" + server.port() + path);
+    }
+}
@@ -0,0 +1,173 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestCoalescerTest {
+    private static final int CALLERS = 50;
+    private SimpleMeterRegistry meterRegistry;
+    private RequestCoalescer requestCoalescer;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        requestCoalescer = new RequestCoalescer(meterRegistry);
+        executor = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldMakeOneCallForConcurrentIdenticalReads() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        Object response = new Object();
+
+        List<Future<Object>> results = submit(CALLERS, () -> requestCoalescer.execute("/items/1#1", () -> {
+            calls.incrementAndGet();
+            await(release);
+            return response;
+        }));
+        awaitCollapsed(CALLERS - 1);
+        release.countDown();
+
+        for (Future<Object> result : results) {
+            assertSame(response, result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, calls.get());
+        assertEquals(CALLERS - 1, collapsed());
+    }
+
+    @Test
+    void shouldShareFailureWithWaiters() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<Object>> results = submit(CALLERS, () -> requestCoalescer.execute("/items/1#1", () -> {
+            await(release);
+            throw new IllegalStateException("Server unavailable");
+        }));
+        awaitCollapsed(CALLERS - 1);
+        release.countDown();
+
+        for (Future<Object> result : results) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    @Test
+    void shouldNotCollapseDifferentReads() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch bothStarted = new CountDownLatch(2);
+
+        List<Future<Object>> results = new ArrayList<>();
+        for (String key : List.of("/items/1#1", "/items/1#2")) {
+            results.addAll(submit(1, () -> requestCoalescer.execute(key, () -> {
+                calls.incrementAndGet();
+                bothStarted.countDown();
+                await(bothStarted);
+                return key;
+            })));
+        }
+
+        assertEquals("/items/1#1", results.get(0).get(5, TimeUnit.SECONDS));
+        assertEquals("/items/1#2", results.get(1).get(5, TimeUnit.SECONDS));
+        assertEquals(2, calls.get());
+        assertEquals(0, collapsed());
+    }
+
+    @Test
+    void shouldNotJoinReadStartedBeforeWrite() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch staleStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<Object> stale = submit(1, () -> requestCoalescer.execute("/items/1#1", () -> {
+            calls.incrementAndGet();
+            staleStarted.countDown();
+            await(release);
+            return "before write";
+        })).get(0);
+        await(staleStarted);
+        Future<Object> joined = submit(1, () -> requestCoalescer.execute("/items/1#1", () -> "not called")).get(0);
+        awaitCollapsed(1);
+
+        requestCoalescer.writeCompleted();
+        List<Future<Object>> fresh = submit(CALLERS - 2, () -> requestCoalescer.execute("/items/1#1", () -> {
+            calls.incrementAndGet();
+            await(release);
+            return "after write";
+        }));
+        awaitCollapsed(CALLERS - 2);
+        release.countDown();
+
+        assertEquals("before write", stale.get(5, TimeUnit.SECONDS));
+        assertEquals("before write", joined.get(5, TimeUnit.SECONDS));
+        for (Future<Object> result : fresh) {
+            assertEquals("after write", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void shouldCallAgainOnceReadCompleted() {
+        AtomicInteger calls = new AtomicInteger();
+
+        requestCoalescer.execute("/items/1#1", calls::incrementAndGet);
+        requestCoalescer.execute("/items/1#1", calls::incrementAndGet);
+
+        assertEquals(2, calls.get());
+        assertEquals(0, collapsed());
+    }
+
+    private List<Future<Object>> submit(int callers, Supplier<Object> call) {
+        List<Future<Object>> results = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            results.add(executor.submit(call::get));
+        }
+        return results;
+    }
+
+    private void awaitCollapsed(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (collapsed() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, collapsed());
+    }
+
+    private double collapsed() {
+        return meterRegistry.get("gateway.requests.collapsed").counter().count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
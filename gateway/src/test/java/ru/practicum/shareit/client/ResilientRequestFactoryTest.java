@@ -0,0 +1,131 @@
+package ru.practicum.shareit.client;
+
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ResilientRequestFactoryTest {
+    private static final URI SEARCH = URI.create("http://localhost:9090/items/search?text=drill");
+    private static final URI BOOKING = URI.create("http://localhost:9090/bookings/1");
+    private final AtomicInteger calls = new AtomicInteger();
+    private HttpStatus status;
+    private boolean unreachable;
+    private CircuitBreaker circuitBreaker;
+    private ResilientRequestFactory requestFactory;
+
+    @BeforeEach
+    void setUp() {
+        status = HttpStatus.OK;
+        circuitBreaker = CircuitBreaker.of("shareit-server", CircuitBreakerConfig.custom()
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(Duration.ofMinutes(1))
+                .build());
+        BulkheadRegistry bulkheads = BulkheadRegistry.ofDefaults();
+        BulkheadConfig single = BulkheadConfig.custom().maxConcurrentCalls(1).maxWaitDuration(Duration.ZERO).build();
+        bulkheads.bulkhead(ResilientRequestFactory.SEARCH, single);
+        bulkheads.bulkhead(ResilientRequestFactory.BOOKINGS, single);
+        bulkheads.bulkhead(ResilientRequestFactory.OTHER, single);
+        requestFactory = new ResilientRequestFactory((uri, method) -> new MockClientHttpRequest(method, uri) {
+            @Override
+            protected ClientHttpResponse executeInternal() throws IOException {
+                calls.incrementAndGet();
+                if (unreachable) {
+                    throw new ConnectException("Connection refused");
+                }
+                return new MockClientHttpResponse(new byte[0], status);
+            }
+        }, circuitBreaker, bulkheads, Set.of(502, 503, 504));
+    }
+
+    @Test
+    void shouldOpenOnServerErrorsAndFailFast() throws IOException {
+        status = HttpStatus.SERVICE_UNAVAILABLE;
+        for (int i = 0; i < 4; i++) {
+            execute(BOOKING).close();
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertThrows(CallNotPermittedException.class, () -> execute(SEARCH));
+        assertEquals(4, calls.get());
+    }
+
+    @Test
+    void shouldOpenOnIoErrorsAndReleaseBulkhead() {
+        unreachable = true;
+        for (int i = 0; i < 4; i++) {
+            assertThrows(ConnectException.class, () -> execute(BOOKING));
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertThrows(CallNotPermittedException.class, () -> execute(BOOKING));
+    }
+
+    @Test
+    void shouldNotCountClientErrors() throws IOException {
+        status = HttpStatus.NOT_FOUND;
+        for (int i = 0; i < 10; i++) {
+            execute(BOOKING).close();
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void shouldNotCountDomainErrors() throws IOException {
+        status = HttpStatus.INTERNAL_SERVER_ERROR;
+        for (int i = 0; i < 10; i++) {
+            execute(BOOKING).close();
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertEquals(0, circuitBreaker.getMetrics().getNumberOfFailedCalls());
+        execute(BOOKING).close();
+        assertEquals(11, calls.get());
+    }
+
+    @Test
+    void shouldBoundConcurrentCallsPerEndpointGroup() throws IOException {
+        ClientHttpResponse search = execute(SEARCH);
+
+        assertThrows(BulkheadFullException.class, () -> execute(SEARCH));
+        execute(BOOKING).close();
+
+        search.close();
+        search.close();
+        execute(SEARCH).close();
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void shouldGroupByPath() {
+        assertEquals(ResilientRequestFactory.SEARCH, ResilientRequestFactory.group(SEARCH));
+        assertEquals(ResilientRequestFactory.BOOKINGS, ResilientRequestFactory.group(URI.create("http://localhost:9090/bookings?state=ALL")));
+        assertEquals(ResilientRequestFactory.OTHER, ResilientRequestFactory.group(URI.create("http://localhost:9090/items/1")));
+    }
+
+    private ClientHttpResponse execute(URI uri) throws IOException {
+        return requestFactory.createRequest(uri, HttpMethod.GET).execute();
+    }
+}
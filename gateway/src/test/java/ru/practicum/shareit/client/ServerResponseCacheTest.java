@@ -0,0 +1,216 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.test.web.client.ResponseActions;
+import org.springframework.test.web.client.response.DefaultResponseCreator;
+import org.springframework.web.client.RestTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.headerDoesNotExist;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+
+class ServerResponseCacheTest {
+    private static final String SERVER_URL = "http://shareit-server";
+    private static final String ITEM_URL = SERVER_URL + "/items/1";
+    private static final byte[] BODY = "{\"id\":1,\"name\":\"Drill\"}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] CHANGED_BODY = "{\"id\":1,\"name\":\"Hammer drill\"}".getBytes(StandardCharsets.UTF_8);
+    private static final Duration TTL = Duration.ofMinutes(10);
+    private MockRestServiceServer server;
+    private MeterRegistry meterRegistry;
+    private FakeTicker ticker;
+    private TestClient client;
+
+    @BeforeEach
+    void setUp() {
+        RestTemplate rest = new RestTemplateBuilder().rootUri(SERVER_URL).build();
+        server = MockRestServiceServer.bindTo(rest).build();
+        meterRegistry = new SimpleMeterRegistry();
+        ticker = new FakeTicker();
+        client = new TestClient(rest, new ServerResponseCache(meterRegistry, 100, TTL, ticker));
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.verify();
+    }
+
+    @Test
+    void shouldFetchAndCacheOnFirstRead() {
+        expectRead(null).andRespond(ok("\"1\"", BODY));
+
+        ResponseEntity<Object> response = client.getCached("/items/1", 7L, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertArrayEquals(BODY, (byte[]) response.getBody());
+        assertEquals("\"1\"", response.getHeaders().getETag());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertEquals(1, cacheGets("miss"));
+        assertEquals(0, revalidations("not_modified") + revalidations("modified"));
+    }
+
+    @Test
+    void shouldServeCachedBodyWhenServerAnswersNotModified() {
+        expectRead(null).andRespond(ok("\"1\"", BODY));
+        expectRead("\"1\"").andRespond(withStatus(HttpStatus.NOT_MODIFIED).headers(etag("\"1\"")));
+
+        client.getCached("/items/1", 7L, null);
+        ResponseEntity<Object> response = client.getCached("/items/1", 7L, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertArrayEquals(BODY, (byte[]) response.getBody());
+        assertEquals("\"1\"", response.getHeaders().getETag());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertEquals(1, cacheGets("hit"));
+        assertEquals(1, revalidations("not_modified"));
+        assertEquals(0, revalidations("modified"));
+    }
+
+    @Test
+    void shouldKeepRevalidatedEntryForAnotherTtl() {
+        expectRead(null).andRespond(ok("\"1\"", BODY));
+        expectRead("\"1\"").andRespond(withStatus(HttpStatus.NOT_MODIFIED).headers(etag("\"1\"")));
+        expectRead("\"1\"").andRespond(withStatus(HttpStatus.NOT_MODIFIED).headers(etag("\"1\"")));
+        expectRead(null).andRespond(ok("\"1\"", BODY));
+
+        client.getCached("/items/1", 7L, null);
+        ticker.advance(TTL.minusMinutes(1));
+        client.getCached("/items/1", 7L, null);
+        ticker.advance(TTL.minusMinutes(1));
+        ResponseEntity<Object> response = client.getCached("/items/1", 7L, null);
+        ticker.advance(TTL);
+        client.getCached("/items/1", 7L, null);
+
+        assertArrayEquals(BODY, (byte[]) response.getBody());
+        assertEquals(2, revalidations("not_modified"));
+    }
+
+    @Test
+    void shouldReplaceCachedBodyWhenResourceChanged() {
+        expectRead(null).andRespond(ok("\"1\"", BODY));
+        expectRead("\"1\"").andRespond(ok("\"2\"", CHANGED_BODY));
+        expectRead("\"2\"").andRespond(withStatus(HttpStatus.NOT_MODIFIED).headers(etag("\"2\"")));
+
+        client.getCached("/items/1", 7L, null);
+        ResponseEntity<Object> changed = client.getCached("/items/1", 7L, null);
+        ResponseEntity<Object> cached = client.getCached("/items/1", 7L, null);
+
+        assertEquals(HttpStatus.OK, changed.getStatusCode());
+        assertArrayEquals(CHANGED_BODY, (byte[]) changed.getBody());
+        assertEquals("\"2\"", changed.getHeaders().getETag());
+        assertArrayEquals(CHANGED_BODY, (byte[]) cached.getBody());
+        assertEquals(1, revalidations("modified"));
+        assertEquals(1, revalidations("not_modified"));
+    }
+
+    @Test
+    void shouldAnswerNotModifiedWhenClientHoldsCurrentEtag() {
+        expectRead(null).andRespond(ok("\"1\"", BODY));
+        expectRead("\"1\"").andRespond(withStatus(HttpStatus.NOT_MODIFIED).headers(etag("\"1\"")));
+
+        ResponseEntity<Object> first = client.getCached("/items/1", 7L, "W/\"0\", \"1\"");
+        ResponseEntity<Object> second = client.getCached("/items/1", 7L, "\"1\"");
+
+        for (ResponseEntity<Object> response : List.of(first, second)) {
+            assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+            assertEquals("\"1\"", response.getHeaders().getETag());
+            assertNull(response.getBody());
+        }
+    }
+
+    @Test
+    void shouldReturnBodyWhenClientEtagIsStale() {
+        expectRead(null).andRespond(ok("\"2\"", CHANGED_BODY));
+
+        ResponseEntity<Object> response = client.getCached("/items/1", 7L, "\"1\"");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertArrayEquals(CHANGED_BODY, (byte[]) response.getBody());
+        assertEquals("\"2\"", response.getHeaders().getETag());
+    }
+
+    @Test
+    void shouldEvictOnErrorAndKeepUsersApart() {
+        expectRead(null).andRespond(ok("\"1\"", BODY));
+        server.expect(requestTo(ITEM_URL))
+                .andExpect(header("X-Sharer-User-Id", "8"))
+                .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                .andRespond(ok("\"1\"", BODY));
+        expectRead("\"1\"").andRespond(withStatus(HttpStatus.NOT_FOUND).contentType(MediaType.APPLICATION_JSON)
+                .body("{\"error\":\"Item with id 1 not found\"}"));
+        expectRead(null).andRespond(withStatus(HttpStatus.NOT_FOUND));
+
+        client.getCached("/items/1", 7L, null);
+        client.getCached("/items/1", 8L, null);
+        ResponseEntity<Object> deleted = client.getCached("/items/1", 7L, null);
+        client.getCached("/items/1", 7L, null);
+
+        assertEquals(HttpStatus.NOT_FOUND, deleted.getStatusCode());
+    }
+
+    private ResponseActions expectRead(String ifNoneMatch) {
+        ResponseActions request = server.expect(requestTo(ITEM_URL))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(header("X-Sharer-User-Id", "7"));
+        return ifNoneMatch != null
+                ? request.andExpect(header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch))
+                : request.andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH));
+    }
+
+    private static DefaultResponseCreator ok(String etag, byte[] body) {
+        return withStatus(HttpStatus.OK).headers(etag(etag)).contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    private static HttpHeaders etag(String etag) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(etag);
+        return headers;
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", "serverResponses").tag("result", result).functionCounter().count();
+    }
+
+    private double revalidations(String result) {
+        return meterRegistry.get("gateway.response.cache.revalidations").tag("result", result).counter().count();
+    }
+
+    private static class FakeTicker implements Ticker {
+        private long nanos;
+
+        @Override
+        public long read() {
+            return nanos;
+        }
+
+        void advance(Duration duration) {
+            nanos += duration.toNanos();
+        }
+    }
+
+    private static class TestClient extends BaseClient {
+        TestClient(RestTemplate rest, ServerResponseCache responseCache) {
+            super(rest, null, responseCache);
+        }
+    }
+}
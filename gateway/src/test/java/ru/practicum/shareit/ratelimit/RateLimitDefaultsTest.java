@@ -0,0 +1,108 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.LoopResources;
+import ru.practicum.shareit.ShareItGateway;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Replays the request sequence of the API tests, which create bookings back to back, against a server stub.
+ * The stub runs on its own event loops, since closing a gateway disposes the shared Reactor Netty resources.
+ */
+class RateLimitDefaultsTest {
+    private static final int BOOKINGS = 20;
+    private static final HttpClient HTTP = HttpClient.newHttpClient();
+    private static LoopResources loops;
+    private static DisposableServer server;
+
+    @BeforeAll
+    static void startServerStub() {
+        loops = LoopResources.create("rate-limit-test");
+        server = HttpServer.create()
+                .runOn(loops)
+                .port(0)
+                .route(routes -> routes.route(request -> true, (request, response) -> response
+                        .header("Content-Type", "application/json")
+                        .sendString(Mono.just("{\"id\":1}"))))
+                .bindNow();
+    }
+
+    @AfterAll
+    static void stopServerStub() {
+        server.disposeNow();
+        loops.dispose();
+    }
+
+    @Test
+    void defaultConfigShouldPassBookingSequence() throws IOException, InterruptedException {
+        try (ConfigurableApplicationContext gateway = start()) {
+            assertTrue(gateway.getBeansOfType(TokenBucketRateLimiter.class).isEmpty());
+
+            List<Integer> statuses = createBookings(gateway);
+
+            assertTrue(statuses.stream().allMatch(status -> status == 200), "Unexpected statuses " + statuses);
+        }
+    }
+
+    @Test
+    void enabledLimitShouldRejectBurstBeyondCapacity() throws IOException, InterruptedException {
+        try (ConfigurableApplicationContext gateway = start("--shareit.rate-limit.enabled=true")) {
+            List<Integer> bookings = createBookings(gateway).subList(2, 2 + BOOKINGS);
+
+            assertEquals(List.of(200, 200, 200, 200, 200), bookings.subList(0, 5), "Statuses " + bookings);
+            assertTrue(bookings.contains(429), "Statuses " + bookings);
+        }
+    }
+
+    private static ConfigurableApplicationContext start(String... extraArgs) {
+        List<String> args = new ArrayList<>(List.of("--server.port=0", "--shareit-server.url=http://localhost:" + server.port()));
+        args.addAll(List.of(extraArgs));
+        return new SpringApplicationBuilder(ShareItGateway.class)
+                .web(WebApplicationType.SERVLET)
+                .run(args.toArray(String[]::new));
+    }
+
+    private static List<Integer> createBookings(ConfigurableApplicationContext gateway) throws IOException, InterruptedException {
+        String baseUrl = "http://localhost:" + gateway.getEnvironment().getProperty("local.server.port");
+        List<Integer> statuses = new ArrayList<>();
+        statuses.add(send(baseUrl + "/users", "POST", "{\"name\":\"Owner\",\"email\":\"owner@test.ru\"}"));
+        statuses.add(send(baseUrl + "/items", "POST", "{\"name\":\"Drill\",\"description\":\"Drill\",\"available\":true}"));
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        for (int i = 0; i < BOOKINGS; i++) {
+            statuses.add(send(baseUrl + "/bookings", "POST", "{\"itemId\":1,\"start\":\"" + start.plusHours(i)
+                    + "\",\"end\":\"" + start.plusHours(i).plusMinutes(30) + "\"}"));
+        }
+        statuses.add(send(baseUrl + "/bookings/1?approved=true", "PATCH", null));
+        statuses.add(send(baseUrl + "/bookings?state=ALL", "GET", null));
+        return statuses;
+    }
+
+    private static int send(String url, String method, String body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(url))
+                .header("Content-Type", "application/json")
+                .header("X-Sharer-User-Id", "1")
+                .method(method, body != null ? HttpRequest.BodyPublishers.ofString(body) : HttpRequest.BodyPublishers.noBody())
+                .build();
+        return HTTP.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
@@ -0,0 +1,108 @@
+package ru.practicum.shareit.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketRateLimiterTest {
+    private final AtomicLong clock = new AtomicLong(-TimeUnit.HOURS.toNanos(1));
+    private SimpleMeterRegistry meterRegistry;
+    private TokenBucketRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setSearch(new RateLimitProperties.Limit(3, 10));
+        properties.setBookingCreate(new RateLimitProperties.Limit(1, 1));
+        meterRegistry = new SimpleMeterRegistry();
+        rateLimiter = new TokenBucketRateLimiter(properties, meterRegistry, clock::get);
+    }
+
+    @Test
+    void shouldAllowBurstUpToCapacity() {
+        for (int i = 0; i < 3; i++) {
+            assertTrue(rateLimiter.acquire(EndpointGroup.SEARCH, 1L).isZero());
+        }
+
+        assertEquals(Duration.ofMillis(100), rateLimiter.acquire(EndpointGroup.SEARCH, 1L));
+        assertEquals(1, meterRegistry.get("gateway.rate-limit.rejected").tag("group", "search").counter().count());
+    }
+
+    @Test
+    void shouldRefillAtConfiguredRate() {
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.acquire(EndpointGroup.SEARCH, 1L);
+        }
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(60));
+        assertEquals(Duration.ofMillis(40), rateLimiter.acquire(EndpointGroup.SEARCH, 1L));
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(40));
+        assertTrue(rateLimiter.acquire(EndpointGroup.SEARCH, 1L).isZero());
+        assertEquals(Duration.ofMillis(100), rateLimiter.acquire(EndpointGroup.SEARCH, 1L));
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        for (int i = 0; i < 3; i++) {
+            assertTrue(rateLimiter.acquire(EndpointGroup.SEARCH, 1L).isZero());
+        }
+        assertEquals(Duration.ofMillis(100), rateLimiter.acquire(EndpointGroup.SEARCH, 1L));
+    }
+
+    @Test
+    void shouldKeepBucketsPerUserAndGroup() {
+        assertTrue(rateLimiter.acquire(EndpointGroup.BOOKING_CREATE, 1L).isZero());
+        assertEquals(Duration.ofSeconds(1), rateLimiter.acquire(EndpointGroup.BOOKING_CREATE, 1L));
+
+        assertTrue(rateLimiter.acquire(EndpointGroup.BOOKING_CREATE, 2L).isZero());
+        assertTrue(rateLimiter.acquire(EndpointGroup.SEARCH, 1L).isZero());
+    }
+
+    @Test
+    void shouldClassifyRequests() {
+        assertEquals(Duration.ZERO, rateLimiter.acquire("POST", "/bookings", "1"));
+        assertEquals(Duration.ofSeconds(1), rateLimiter.acquire("POST", "/bookings", "1"));
+
+        assertEquals(Duration.ZERO, rateLimiter.acquire("PATCH", "/bookings/1", "1"));
+        assertEquals(Duration.ZERO, rateLimiter.acquire("POST", "/bookings", null));
+        assertEquals(Duration.ZERO, rateLimiter.acquire("POST", "/bookings", "not a number"));
+    }
+
+    @Test
+    void shouldHandOutExactlyCapacityToConcurrentCallers() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                results.add(executor.submit(() -> {
+                    int allowed = 0;
+                    for (int i = 0; i < 1_000; i++) {
+                        if (rateLimiter.acquire(EndpointGroup.SEARCH, 1L).isZero()) {
+                            allowed++;
+                        }
+                    }
+                    return allowed;
+                }));
+            }
+
+            int allowed = 0;
+            for (Future<Integer> result : results) {
+                allowed += result.get(10, TimeUnit.SECONDS);
+            }
+            assertEquals(3, allowed);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
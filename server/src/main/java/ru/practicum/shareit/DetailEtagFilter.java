@@ -0,0 +1,24 @@
+package ru.practicum.shareit;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.regex.Pattern;
+
+/**
+ * Adds a strong ETag, the hash of the response body, to reads of a single item, user or item request, and
+ * answers 304 without a body when the caller already holds that version.
+ * <p>
+ * The gateway caches these responses and revalidates them with {@code If-None-Match}, so an unchanged
+ * resource is not sent between the hops again. The body is still built to compute the hash.
+ */
+@Component
+public class DetailEtagFilter extends ShallowEtagHeaderFilter {
+    private static final Pattern DETAIL_PATH = Pattern.compile("/(items|users|requests)/\\d+");
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !DETAIL_PATH.matcher(request.getRequestURI()).matches();
+    }
+}
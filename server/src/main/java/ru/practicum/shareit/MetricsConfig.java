@@ -0,0 +1,25 @@
+package ru.practicum.shareit;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.function.Predicate;
+
+/**
+ * Times the beans annotated with {@code @Timed}: service methods as {@code shareit.service} and booking
+ * finders as {@code shareit.booking.finder}, tagged with class, method and exception, finders also with their
+ * state. Accessors such as {@code BookingFinder.getSearchType} are not timed. Repository methods are timed by
+ * Spring Boot as {@code spring.data.repository.invocations}, and the connection pool is published as
+ * {@code hikaricp.connections.*}.
+ */
+@Configuration
+public class MetricsConfig {
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        Predicate<ProceedingJoinPoint> accessor = joinPoint -> joinPoint.getSignature().getName().startsWith("get");
+        return new TimedAspect(meterRegistry, accessor);
+    }
+}
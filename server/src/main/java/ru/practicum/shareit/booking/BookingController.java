@@ -1,6 +1,7 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookingCreateRequestDto;
@@ -8,12 +9,15 @@ import ru.practicum.shareit.booking.dto.BookingDto;
 
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingCursor;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.InvalidPageSizeException;
 
 
 import java.util.List;
 import java.util.stream.Collectors;
 
+import static ru.practicum.shareit.markers.ConstantsUtil.NEXT_CURSOR_HEADER;
 import static ru.practicum.shareit.markers.ConstantsUtil.USER_ID_HEADER;
 
 
@@ -54,28 +58,51 @@ public class BookingController {
     }
 
     @GetMapping
-    public List<BookingDto> findByBookerId(
+    public ResponseEntity<List<BookingDto>> findByBookerId(
             @RequestHeader(USER_ID_HEADER) Long userId,
             @RequestParam(defaultValue = "ALL") BookingService.BookingState state,
             @RequestParam(defaultValue = "0") Integer from,
-            @RequestParam(defaultValue = "10") Integer size) {
-        return bookingService
-                .findByBookerId(userId, state, from, size)
-                .stream()
-                .map(BookingMapper::toBookingDto)
-                .collect(Collectors.toUnmodifiableList());
+            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(required = false) String cursor) {
+        checkPageSize(size);
+        List<Booking> bookings = cursor == null
+                ? bookingService.findByBookerId(userId, state, from, size)
+                : bookingService.findByBookerIdAfter(userId, state, BookingCursor.decode(cursor), size);
+
+        return toPage(bookings, size);
     }
 
     @GetMapping(value = "/owner")
-    public List<BookingDto> findByOwnerId(
+    public ResponseEntity<List<BookingDto>> findByOwnerId(
             @RequestHeader(USER_ID_HEADER) Long ownerId,
             @RequestParam(defaultValue = "ALL") BookingService.BookingState state,
             @RequestParam(defaultValue = "0") Integer from,
-            @RequestParam(defaultValue = "10") Integer size) {
-        return bookingService
-                .findByOwnerId(ownerId, state, from, size)
+            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(required = false) String cursor) {
+        checkPageSize(size);
+        List<Booking> bookings = cursor == null
+                ? bookingService.findByOwnerId(ownerId, state, from, size)
+                : bookingService.findByOwnerIdAfter(ownerId, state, BookingCursor.decode(cursor), size);
+
+        return toPage(bookings, size);
+    }
+
+    private static void checkPageSize(Integer size) {
+        if (size <= 0) {
+            throw new InvalidPageSizeException(size);
+        }
+    }
+
+    private ResponseEntity<List<BookingDto>> toPage(List<Booking> bookings, Integer size) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+
+        if (!bookings.isEmpty() && bookings.size() == size) {
+            response.header(NEXT_CURSOR_HEADER, BookingCursor.of(bookings.get(bookings.size() - 1)).encode());
+        }
+
+        return response.body(bookings
                 .stream()
                 .map(BookingMapper::toBookingDto)
-                .collect(Collectors.toUnmodifiableList());
+                .collect(Collectors.toUnmodifiableList()));
     }
 }
\ No newline at end of file
@@ -2,32 +2,78 @@ package ru.practicum.shareit.booking;
 
 import org.springframework.data.domain.Pageable;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingInterval;
 import ru.practicum.shareit.booking.model.BookingStatus;
-import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.booking.model.LastAndNextBookingIds;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
-    List<Booking> findByItemId(Long itemId);
+    /**
+     * Both lookups stop at the first matching entry of the descending item/status/start index. The last booking
+     * repeats the index prefix in its sort so that H2 reads it in index order instead of sorting the history.
+     */
+    @Query(value = "select i.item_id as itemId, " +
+            "       (select b.book_id " +
+            "          from bookings b " +
+            "         where b.item_id = i.item_id " +
+            "           and b.status = 'APPROVED' " +
+            "           and b.start_date <= :now " +
+            "         order by b.item_id, b.status, b.start_date desc, b.book_id desc " +
+            "         limit 1) as lastId, " +
+            "       (select b.book_id " +
+            "          from bookings b " +
+            "         where b.item_id = i.item_id " +
+            "           and b.status = 'APPROVED' " +
+            "           and b.start_date > :now " +
+            "         order by b.start_date, b.book_id " +
+            "         limit 1) as nextId " +
+            "  from items i " +
+            " where i.item_id in (:itemIds)", nativeQuery = true)
+    List<LastAndNextBookingIds> findLastAndNextApprovedIdsByItemIdIn(Collection<Long> itemIds, LocalDateTime now);
 
-    List<Booking> findByItemInAndStatus(List<Item> item, BookingStatus status);
+    @Query("select b " +
+            " from Booking b " +
+            " join fetch b.booker " +
+            "where b.id in :ids")
+    List<Booking> findWithBookerByIdIn(Collection<Long> ids);
+
+    @Query("select new ru.practicum.shareit.booking.model.BookingInterval(b.id, b.start, b.end) " +
+            " from Booking b " +
+            "where b.item.id = :itemId " +
+            "  and b.status = :status")
+    List<BookingInterval> findIntervalsByItemIdAndStatus(Long itemId, BookingStatus status);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Optional<Booking> findWithItemAndBookerById(Long id);
 
     @Query("select b " +
             " from Booking b " +
             " join fetch b.item i " +
+            " join fetch b.booker " +
             "where b.id = :id " +
             "  and i.owner.id = :ownerId")
     Optional<Booking> findByIdAndOwnerId(Long id, Long ownerId);
 
+    @Query("select b " +
+            " from Booking b " +
+            " join fetch b.item " +
+            " join fetch b.booker " +
+            "where b.booker.id = :bookerId ")
     List<Booking> findByBookerId(Long bookerId, Pageable pageable);
 
     @Query("select b " +
             " from Booking b " +
+            " join fetch b.item " +
+            " join fetch b.booker " +
             "where b.start <= CURRENT_TIMESTAMP " +
             "  and b.end >= CURRENT_TIMESTAMP " +
             "  and b.booker.id = :bookerId ")
@@ -35,18 +81,24 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
 
     @Query("select b " +
             " from Booking b " +
+            " join fetch b.item " +
+            " join fetch b.booker " +
             "where b.end < CURRENT_TIMESTAMP " +
             "  and b.booker.id = :bookerId ")
     List<Booking> findByBookerIdPast(Long bookerId, Pageable pageable);
 
     @Query("select b " +
             " from Booking b " +
+            " join fetch b.item " +
+            " join fetch b.booker " +
             "where b.start >= CURRENT_TIMESTAMP " +
             "  and b.booker.id = :bookerId ")
     List<Booking> findByBookerIdFuture(Long bookerId, Pageable pageable);
 
     @Query("select b " +
             " from Booking b " +
+            " join fetch b.item " +
+            " join fetch b.booker " +
             "where b.booker.id = :bookerId " +
             "  and b.status = :status")
     List<Booking> findByBookerIdAndStatus(Long bookerId, BookingStatus status, Pageable pageable);
@@ -54,12 +106,14 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     @Query("select b " +
             " from Booking b " +
             " join fetch b.item i " +
+            " join fetch b.booker " +
             "where i.owner.id = :ownerId ")
     List<Booking> findByOwnerId(Long ownerId, Pageable pageable);
 
     @Query("select b " +
             " from Booking b " +
             " join fetch b.item i " +
+            " join fetch b.booker " +
             "where i.owner.id = :ownerId " +
             "  and b.start <= CURRENT_TIMESTAMP " +
             "  and b.end >= CURRENT_TIMESTAMP ")
@@ -68,6 +122,7 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     @Query("select b " +
             " from Booking b " +
             " join fetch b.item i " +
+            " join fetch b.booker " +
             "where i.owner.id = :ownerId " +
             "  and b.end < CURRENT_TIMESTAMP ")
     List<Booking> findByOwnerIdPast(Long ownerId, Pageable pageable);
@@ -75,6 +130,7 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     @Query("select b " +
             " from Booking b " +
             " join fetch b.item i " +
+            " join fetch b.booker " +
             "where i.owner.id = :ownerId " +
             "  and b.start >= CURRENT_TIMESTAMP ")
     List<Booking> findByOwnerIdFuture(Long ownerId, Pageable pageable);
@@ -82,7 +138,108 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     @Query("select b " +
             " from Booking b " +
             " join fetch b.item i " +
+            " join fetch b.booker " +
             "where i.owner.id = :ownerId " +
             "  and b.status = :status ")
     List<Booking> findByOwnerIdAndStatus(Long ownerId, BookingStatus status, Pageable pageable);
+
+    @Query("select b " +
+            " from Booking b " +
+            " join fetch b.item " +
+            " join fetch b.booker " +
+            "where b.booker.id = :bookerId " +
+            "  and (b.start < :start or (b.start = :start and b.id < :id)) " +
+            "order by b.start desc, b.id desc")
+    List<Booking> findByBookerIdAfter(Long bookerId, LocalDateTime start, Long id, Pageable pageable);
+
+    @Query("select b " +
+            " from Booking b " +
+            " join fetch b.item " +
+            " join fetch b.booker " +
+            "where b.booker.id = :bookerId " +
+            "  and b.start <= CURRENT_TIMESTAMP " +
+            "  and b.end >= CURRENT_TIMESTAMP " +
+            "  and (b.start < :start or (b.start = :start and b.id < :id)) " +
+            "order by b.start desc, b.id desc")
+    List<Booking> findByBookerIdCurrentAfter(Long bookerId, LocalDateTime start, Long id, Pageable pageable);
+
+    @Query("select b " +
+            " from Booking b " +
+            " join fetch b.item " +
+            " join fetch b.booker " +
+            "where b.booker.id = :bookerId " +
+            "  and b.end < CURRENT_TIMESTAMP " +
+            "  and (b.start < :start or (b.start = :start and b.id < :id)) " +
+            "order by b.start desc, b.id desc")
+    List<Booking> findByBookerIdPastAfter(Long bookerId, LocalDateTime start, Long id, Pageable pageable);
+
+    @Query("select b " +
+            " from Booking b " +
+            " join fetch b.item " +
+            " join fetch b.booker " +
+            "where b.booker.id = :bookerId " +
+            "  and b.start >= CURRENT_TIMESTAMP " +
+            "  and (b.start < :start or (b.start = :start and b.id < :id)) " +
+            "order by b.start desc, b.id desc")
+    List<Booking> findByBookerIdFutureAfter(Long bookerId, LocalDateTime start, Long id, Pageable pageable);
+
+    @Query("select b " +
+            " from Booking b " +
+            " join fetch b.item " +
+            " join fetch b.booker " +
+            "where b.booker.id = :bookerId " +
+            "  and b.status = :status " +
+            "  and (b.start < :start or (b.start = :start and b.id < :id)) " +
+            "order by b.start desc, b.id desc")
+    List<Booking> findByBookerIdAndStatusAfter(Long bookerId, BookingStatus status, LocalDateTime start, Long id, Pageable pageable);
+
+    @Query("select b " +
+            " from Booking b " +
+            " join fetch b.item i " +
+            " join fetch b.booker " +
+            "where i.owner.id = :ownerId " +
+            "  and (b.start < :start or (b.start = :start and b.id < :id)) " +
+            "order by b.start desc, b.id desc")
+    List<Booking> findByOwnerIdAfter(Long ownerId, LocalDateTime start, Long id, Pageable pageable);
+
+    @Query("select b " +
+            " from Booking b " +
+            " join fetch b.item i " +
+            " join fetch b.booker " +
+            "where i.owner.id = :ownerId " +
+            "  and b.start <= CURRENT_TIMESTAMP " +
+            "  and b.end >= CURRENT_TIMESTAMP " +
+            "  and (b.start < :start or (b.start = :start and b.id < :id)) " +
+            "order by b.start desc, b.id desc")
+    List<Booking> findByOwnerIdCurrentAfter(Long ownerId, LocalDateTime start, Long id, Pageable pageable);
+
+    @Query("select b " +
+            " from Booking b " +
+            " join fetch b.item i " +
+            " join fetch b.booker " +
+            "where i.owner.id = :ownerId " +
+            "  and b.end < CURRENT_TIMESTAMP " +
+            "  and (b.start < :start or (b.start = :start and b.id < :id)) " +
+            "order by b.start desc, b.id desc")
+    List<Booking> findByOwnerIdPastAfter(Long ownerId, LocalDateTime start, Long id, Pageable pageable);
+
+    @Query("select b " +
+            " from Booking b " +
+            " join fetch b.item i " +
+            " join fetch b.booker " +
+            "where i.owner.id = :ownerId " +
+            "  and b.start >= CURRENT_TIMESTAMP " +
+            "  and (b.start < :start or (b.start = :start and b.id < :id)) " +
+            "order by b.start desc, b.id desc")
+    List<Booking> findByOwnerIdFutureAfter(Long ownerId, LocalDateTime start, Long id, Pageable pageable);
+
+    @Query("select b " +
+            " from Booking b " +
+            " join fetch b.item i " +
+            " join fetch b.booker " +
+            "where i.owner.id = :ownerId " +
+            "  and b.status = :status " +
+            "  and (b.start < :start or (b.start = :start and b.id < :id)) " +
+            "order by b.start desc, b.id desc")
+    List<Booking> findByOwnerIdAndStatusAfter(Long ownerId, BookingStatus status, LocalDateTime start, Long id, Pageable pageable);
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.booking.model;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+@Value
+public class BookingInterval {
+    Long id;
+
+    LocalDateTime start;
+
+    LocalDateTime end;
+}
@@ -0,0 +1,9 @@
+package ru.practicum.shareit.booking.model;
+
+public interface LastAndNextBookingIds {
+    Long getItemId();
+
+    Long getLastId();
+
+    Long getNextId();
+}
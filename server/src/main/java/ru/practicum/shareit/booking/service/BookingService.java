@@ -16,6 +16,10 @@ public interface BookingService {
 
     List<Booking> findByOwnerId(Long ownerId, BookingState state, Integer from, Integer size);
 
+    List<Booking> findByBookerIdAfter(Long bookerId, BookingState state, BookingCursor cursor, Integer size);
+
+    List<Booking> findByOwnerIdAfter(Long ownerId, BookingState state, BookingCursor cursor, Integer size);
+
     enum BookingState {
         ALL, CURRENT, PAST, FUTURE, WAITING, REJECTED
     }
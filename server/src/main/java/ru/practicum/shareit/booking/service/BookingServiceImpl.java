@@ -1,5 +1,6 @@
 package ru.practicum.shareit.booking.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.AllArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
@@ -9,27 +10,41 @@ import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.service.finder.BookingFinderFactory;
+import ru.practicum.shareit.booking.service.index.BookingIntervalIndex;
+import ru.practicum.shareit.booking.service.lock.ItemBookingLocks;
 import ru.practicum.shareit.exception.*;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Objects;
 
 @Service
+@Timed("shareit.service")
 @AllArgsConstructor
 @Transactional(readOnly = true)
 public class BookingServiceImpl implements BookingService {
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Order.desc("start"), Sort.Order.desc("id"));
+
     private final BookingRepository bookingRepository;
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
     private final BookingFinderFactory bookingFinderFactory;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final ItemBookingLocks itemBookingLocks;
 
     @Transactional
     @Override
     public Booking create(Booking booking, Long itemId, Long userId) {
+        if (booking.getStart() == null || booking.getEnd() == null || !booking.getStart().isBefore(booking.getEnd())) {
+            throw new InvalidBookingPeriodException();
+        }
+
+        itemBookingLocks.lockUntilCompletion(itemId);
+
         Item item = itemRepository.findById(itemId).orElseThrow(() -> new ItemNotFoundException(itemId));
         User user = userRepository.findById(userId).orElseThrow(() -> new UserNotFoundException(userId));
 
@@ -37,7 +52,7 @@ public class BookingServiceImpl implements BookingService {
             throw new ItemUnavailableException();
         }
 
-        boolean isBooked = itemRepository.isBookedInPeriod(item.getId(), booking.getStart(), booking.getEnd());
+        boolean isBooked = isBookedInPeriod(item.getId(), booking.getStart(), booking.getEnd());
 
         if (isBooked || userId.equals(item.getOwner().getId())) {
             throw new ItemNotFoundException("Available item not found");
@@ -59,13 +74,23 @@ public class BookingServiceImpl implements BookingService {
             throw new BookingIsAlreadyApprovedException();
         }
 
+        if (approve) {
+            itemBookingLocks.lockUntilCompletion(booking.getItem().getId());
+
+            if (isBookedInPeriod(booking.getItem().getId(), booking.getStart(), booking.getEnd())) {
+                throw new ItemUnavailableException();
+            }
+        }
+
         booking.setStatus(approve ? BookingStatus.APPROVED : BookingStatus.REJECTED);
-        return bookingRepository.save(booking);
+        Booking approvedBooking = bookingRepository.save(booking);
+        bookingIntervalIndex.onStatusChanged(approvedBooking);
+        return approvedBooking;
     }
 
     @Override
     public Booking findById(Long bookingId, Long userId) {
-        Booking booking = bookingRepository.findById(bookingId)
+        Booking booking = bookingRepository.findWithItemAndBookerById(bookingId)
                 .orElseThrow(() -> new BookingNotFoundException(bookingId));
 
         if (!Objects.equals(booking.getBooker().getId(), userId) && !Objects.equals(booking.getItem().getOwner().getId(), userId)) {
@@ -78,7 +103,7 @@ public class BookingServiceImpl implements BookingService {
     @Override
     public List<Booking> findByBookerId(Long bookerId, BookingService.BookingState state, Integer from, Integer size) {
         if (userRepository.existsById(bookerId)) {
-            PageRequest pageRequest = CustomPageRequest.of(from, size, Sort.by("start").descending());
+            PageRequest pageRequest = CustomPageRequest.of(from, size, NEWEST_FIRST);
             return bookingFinderFactory.getFinder(state).findByBookerId(bookerId, pageRequest);
         } else {
             throw new UserNotFoundException(bookerId);
@@ -88,10 +113,33 @@ public class BookingServiceImpl implements BookingService {
     @Override
     public List<Booking> findByOwnerId(Long ownerId, BookingService.BookingState state, Integer from, Integer size) {
         if (userRepository.existsById(ownerId)) {
-            PageRequest pageRequest = CustomPageRequest.of(from, size, Sort.by("start").descending());
+            PageRequest pageRequest = CustomPageRequest.of(from, size, NEWEST_FIRST);
             return bookingFinderFactory.getFinder(state).findByOwnerId(ownerId, pageRequest);
         } else {
             throw new UserNotFoundException(ownerId);
         }
     }
+
+    @Override
+    public List<Booking> findByBookerIdAfter(Long bookerId, BookingService.BookingState state, BookingCursor cursor, Integer size) {
+        if (userRepository.existsById(bookerId)) {
+            return bookingFinderFactory.getFinder(state).findByBookerIdAfter(bookerId, cursor, PageRequest.of(0, size));
+        } else {
+            throw new UserNotFoundException(bookerId);
+        }
+    }
+
+    @Override
+    public List<Booking> findByOwnerIdAfter(Long ownerId, BookingService.BookingState state, BookingCursor cursor, Integer size) {
+        if (userRepository.existsById(ownerId)) {
+            return bookingFinderFactory.getFinder(state).findByOwnerIdAfter(ownerId, cursor, PageRequest.of(0, size));
+        } else {
+            throw new UserNotFoundException(ownerId);
+        }
+    }
+
+    private boolean isBookedInPeriod(Long itemId, LocalDateTime start, LocalDateTime end) {
+        return bookingIntervalIndex.isBookedInPeriod(itemId, start, end)
+                .orElseGet(() -> itemRepository.isBookedInPeriod(itemId, start, end));
+    }
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package ru.practicum.shareit.booking.service.finder;
 import org.springframework.data.domain.Pageable;
 
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.service.BookingCursor;
 import ru.practicum.shareit.booking.service.BookingService;
 
 import java.util.List;
@@ -13,5 +14,9 @@ public interface BookingFinder {
 
     List<Booking> findByBookerId(Long bookerId, Pageable pageable);
 
+    List<Booking> findByOwnerIdAfter(Long ownerId, BookingCursor cursor, Pageable pageable);
+
+    List<Booking> findByBookerIdAfter(Long bookerId, BookingCursor cursor, Pageable pageable);
+
     BookingService.BookingState getSearchType();
 }
\ No newline at end of file
@@ -1,17 +1,20 @@
 package ru.practicum.shareit.booking.service.finder;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.service.BookingCursor;
 import ru.practicum.shareit.booking.service.BookingService;
 
 import java.util.List;
 
 
 @Component
+@Timed(value = "shareit.booking.finder", extraTags = {"state", "all"})
 @RequiredArgsConstructor
 public class BookingFinderAll implements BookingFinder {
     private final BookingRepository bookingRepository;
@@ -26,6 +29,16 @@ public class BookingFinderAll implements BookingFinder {
         return bookingRepository.findByBookerId(bookerId, pageable);
     }
 
+    @Override
+    public List<Booking> findByOwnerIdAfter(Long ownerId, BookingCursor cursor, Pageable pageable) {
+        return bookingRepository.findByOwnerIdAfter(ownerId, cursor.getStart(), cursor.getId(), pageable);
+    }
+
+    @Override
+    public List<Booking> findByBookerIdAfter(Long bookerId, BookingCursor cursor, Pageable pageable) {
+        return bookingRepository.findByBookerIdAfter(bookerId, cursor.getStart(), cursor.getId(), pageable);
+    }
+
     @Override
     public BookingService.BookingState getSearchType() {
         return BookingService.BookingState.ALL;
@@ -1,16 +1,19 @@
 package ru.practicum.shareit.booking.service.finder;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.service.BookingCursor;
 import ru.practicum.shareit.booking.service.BookingService;
 
 import java.util.List;
 
 
 @Component
+@Timed(value = "shareit.booking.finder", extraTags = {"state", "past"})
 @RequiredArgsConstructor
 public class BookingFinderPast implements BookingFinder {
     private final BookingRepository bookingRepository;
@@ -25,6 +28,16 @@ public class BookingFinderPast implements BookingFinder {
         return bookingRepository.findByBookerIdPast(bookerId, pageable);
     }
 
+    @Override
+    public List<Booking> findByOwnerIdAfter(Long ownerId, BookingCursor cursor, Pageable pageable) {
+        return bookingRepository.findByOwnerIdPastAfter(ownerId, cursor.getStart(), cursor.getId(), pageable);
+    }
+
+    @Override
+    public List<Booking> findByBookerIdAfter(Long bookerId, BookingCursor cursor, Pageable pageable) {
+        return bookingRepository.findByBookerIdPastAfter(bookerId, cursor.getStart(), cursor.getId(), pageable);
+    }
+
     @Override
     public BookingService.BookingState getSearchType() {
         return BookingService.BookingState.PAST;
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.booking.service.finder;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
@@ -7,12 +8,14 @@ import org.springframework.stereotype.Component;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingCursor;
 import ru.practicum.shareit.booking.service.BookingService;
 
 import java.util.List;
 
 
 @Component
+@Timed(value = "shareit.booking.finder", extraTags = {"state", "rejected"})
 @RequiredArgsConstructor
 public class BookingFinderRejected implements BookingFinder {
     private final BookingRepository bookingRepository;
@@ -27,6 +30,16 @@ public class BookingFinderRejected implements BookingFinder {
         return bookingRepository.findByBookerIdAndStatus(bookerId, BookingStatus.REJECTED, pageable);
     }
 
+    @Override
+    public List<Booking> findByOwnerIdAfter(Long ownerId, BookingCursor cursor, Pageable pageable) {
+        return bookingRepository.findByOwnerIdAndStatusAfter(ownerId, BookingStatus.REJECTED, cursor.getStart(), cursor.getId(), pageable);
+    }
+
+    @Override
+    public List<Booking> findByBookerIdAfter(Long bookerId, BookingCursor cursor, Pageable pageable) {
+        return bookingRepository.findByBookerIdAndStatusAfter(bookerId, BookingStatus.REJECTED, cursor.getStart(), cursor.getId(), pageable);
+    }
+
     @Override
     public BookingService.BookingState getSearchType() {
         return BookingService.BookingState.REJECTED;
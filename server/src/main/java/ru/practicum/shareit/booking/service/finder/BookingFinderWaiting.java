@@ -1,5 +1,6 @@
 package ru.practicum.shareit.booking.service.finder;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
@@ -7,11 +8,13 @@ import org.springframework.stereotype.Component;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingCursor;
 import ru.practicum.shareit.booking.service.BookingService;
 
 import java.util.List;
 
 @Component
+@Timed(value = "shareit.booking.finder", extraTags = {"state", "waiting"})
 @RequiredArgsConstructor
 public class BookingFinderWaiting implements BookingFinder {
     private final BookingRepository bookingRepository;
@@ -26,6 +29,16 @@ public class BookingFinderWaiting implements BookingFinder {
         return bookingRepository.findByBookerIdAndStatus(bookerId, BookingStatus.WAITING, pageable);
     }
 
+    @Override
+    public List<Booking> findByOwnerIdAfter(Long ownerId, BookingCursor cursor, Pageable pageable) {
+        return bookingRepository.findByOwnerIdAndStatusAfter(ownerId, BookingStatus.WAITING, cursor.getStart(), cursor.getId(), pageable);
+    }
+
+    @Override
+    public List<Booking> findByBookerIdAfter(Long bookerId, BookingCursor cursor, Pageable pageable) {
+        return bookingRepository.findByBookerIdAndStatusAfter(bookerId, BookingStatus.WAITING, cursor.getStart(), cursor.getId(), pageable);
+    }
+
     @Override
     public BookingService.BookingState getSearchType() {
         return BookingService.BookingState.WAITING;
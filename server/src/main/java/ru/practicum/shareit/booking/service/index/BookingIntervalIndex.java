@@ -0,0 +1,81 @@
+package ru.practicum.shareit.booking.service.index;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingInterval;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static ru.practicum.shareit.markers.TransactionUtil.afterCommit;
+
+/**
+ * In-memory index of approved booking periods per item.
+ * <p>
+ * Items are loaded on their first overlap check and then kept in sync with status changes after the
+ * changing transaction commits. An empty answer means the item is not indexed (the index is full or
+ * disabled) or the period is malformed, and the caller has to ask the database.
+ * <p>
+ * The index lives in one JVM and only sees changes made through this instance. A deleted item is dropped
+ * after its transaction commits; bookings are never deleted by the application, and the foreign keys keep
+ * an item or user with bookings from being deleted. Bookings approved, rejected or deleted by another
+ * server instance or directly in the database are not seen until restart, so the index is off by default
+ * ({@code shareit.booking.index.max-items=0}) and may only be enabled when a single instance serves the database.
+ */
+@Component
+public class BookingIntervalIndex {
+    private final BookingRepository bookingRepository;
+    private final int maxItems;
+    private final Map<Long, ItemIntervals> items = new ConcurrentHashMap<>();
+
+    public BookingIntervalIndex(BookingRepository bookingRepository,
+                                @Value("${shareit.booking.index.max-items:0}") int maxItems) {
+        this.bookingRepository = bookingRepository;
+        this.maxItems = maxItems;
+    }
+
+    public Optional<Boolean> isBookedInPeriod(Long itemId, LocalDateTime start, LocalDateTime end) {
+        if (start == null || end == null || end.isBefore(start)) {
+            return Optional.empty();
+        }
+
+        ItemIntervals intervals = items.get(itemId);
+        if (intervals == null) {
+            if (items.size() >= maxItems) {
+                return Optional.empty();
+            }
+            intervals = items.computeIfAbsent(itemId, id -> new ItemIntervals(
+                    bookingRepository.findIntervalsByItemIdAndStatus(id, BookingStatus.APPROVED)));
+        }
+
+        return Optional.of(intervals.isBookedInPeriod(start, end));
+    }
+
+    public void onStatusChanged(Booking booking) {
+        Long itemId = booking.getItem().getId();
+        BookingInterval interval = new BookingInterval(booking.getId(), booking.getStart(), booking.getEnd());
+        boolean approved = booking.getStatus() == BookingStatus.APPROVED;
+
+        afterCommit(() -> items.computeIfPresent(itemId, (id, intervals) -> {
+            if (approved) {
+                intervals.add(interval);
+            } else {
+                intervals.remove(interval.getId());
+            }
+            return intervals;
+        }));
+    }
+
+    public void onItemDeleted(Long itemId) {
+        afterCommit(() -> items.remove(itemId));
+    }
+
+    public boolean isIndexed(Long itemId) {
+        return items.containsKey(itemId);
+    }
+}
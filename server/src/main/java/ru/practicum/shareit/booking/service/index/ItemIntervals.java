@@ -0,0 +1,81 @@
+package ru.practicum.shareit.booking.service.index;
+
+import ru.practicum.shareit.booking.model.BookingInterval;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Approved booking periods of a single item.
+ * <p>
+ * Periods that strictly overlap are merged into disjoint ranges keyed by start, so a period overlaps some
+ * booking exactly when it overlaps the range with the greatest start before its end. Bookings that only
+ * touch are kept apart, which keeps the answer identical to
+ * {@link ru.practicum.shareit.item.ItemRepository#isBookedInPeriod} even for empty periods.
+ * <p>
+ * Bookings that do not end after they start are skipped, while the query would still count one that lies
+ * strictly inside the period. {@code BookingServiceImpl.create} rejects such bookings, so none are stored.
+ */
+class ItemIntervals {
+    private final Map<Long, BookingInterval> bookings = new HashMap<>();
+    private final NavigableMap<LocalDateTime, LocalDateTime> ranges = new TreeMap<>();
+
+    ItemIntervals(Collection<BookingInterval> intervals) {
+        intervals.forEach(interval -> bookings.put(interval.getId(), interval));
+        rebuild();
+    }
+
+    synchronized boolean isBookedInPeriod(LocalDateTime start, LocalDateTime end) {
+        Map.Entry<LocalDateTime, LocalDateTime> range = ranges.lowerEntry(end);
+        return range != null && range.getValue().isAfter(start);
+    }
+
+    synchronized void add(BookingInterval interval) {
+        if (bookings.put(interval.getId(), interval) == null) {
+            merge(interval.getStart(), interval.getEnd());
+        } else {
+            rebuild();
+        }
+    }
+
+    synchronized void remove(Long bookingId) {
+        if (bookings.remove(bookingId) != null) {
+            rebuild();
+        }
+    }
+
+    private void rebuild() {
+        ranges.clear();
+        bookings.values().forEach(interval -> merge(interval.getStart(), interval.getEnd()));
+    }
+
+    private void merge(LocalDateTime start, LocalDateTime end) {
+        if (!start.isBefore(end)) {
+            return;
+        }
+
+        Map.Entry<LocalDateTime, LocalDateTime> left = ranges.floorEntry(start);
+        if (left != null && left.getValue().isAfter(start)) {
+            start = left.getKey();
+            end = max(end, left.getValue());
+            ranges.remove(left.getKey());
+        }
+
+        Map.Entry<LocalDateTime, LocalDateTime> right = ranges.ceilingEntry(start);
+        while (right != null && right.getKey().isBefore(end)) {
+            end = max(end, right.getValue());
+            ranges.remove(right.getKey());
+            right = ranges.ceilingEntry(start);
+        }
+
+        ranges.put(start, end);
+    }
+
+    private static LocalDateTime max(LocalDateTime first, LocalDateTime second) {
+        return first.isAfter(second) ? first : second;
+    }
+}
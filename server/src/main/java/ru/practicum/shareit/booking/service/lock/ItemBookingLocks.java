@@ -0,0 +1,42 @@
+package ru.practicum.shareit.booking.service.lock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Striped locks that serialize booking writes of the same item.
+ * <p>
+ * A lock is held until the surrounding transaction completes, so the next writer of the item reads
+ * everything the previous one committed. Writes to items on different stripes never wait for each other.
+ */
+@Component
+public class ItemBookingLocks {
+    private final Lock[] stripes;
+
+    public ItemBookingLocks(@Value("${shareit.booking.lock.stripes:256}") int stripes) {
+        this.stripes = new Lock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public void lockUntilCompletion(Long itemId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Item lock requires an active transaction");
+        }
+
+        Lock lock = stripes[Math.floorMod(Long.hashCode(itemId), stripes.length)];
+        lock.lock();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+            }
+        });
+    }
+}
@@ -129,6 +129,45 @@ public class GlobalExceptionHandler {
                         .build());
     }
 
+    @ExceptionHandler
+    public ResponseEntity<ErrorResponse> handleInvalidBookingPeriodException(InvalidBookingPeriodException ex) {
+        log.warn(ex.getMessage());
+        HttpStatus badRequest = HttpStatus.BAD_REQUEST;
+
+        return ResponseEntity
+                .status(badRequest)
+                .body(ErrorResponse.builder()
+                        .status(badRequest.value())
+                        .error(ex.getMessage())
+                        .build());
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<ErrorResponse> handleInvalidPageSizeException(InvalidPageSizeException ex) {
+        log.warn(ex.getMessage());
+        HttpStatus badRequest = HttpStatus.BAD_REQUEST;
+
+        return ResponseEntity
+                .status(badRequest)
+                .body(ErrorResponse.builder()
+                        .status(badRequest.value())
+                        .error(ex.getMessage())
+                        .build());
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<ErrorResponse> handleInvalidCursorException(InvalidCursorException ex) {
+        log.warn(ex.getMessage());
+        HttpStatus badRequest = HttpStatus.BAD_REQUEST;
+
+        return ResponseEntity
+                .status(badRequest)
+                .body(ErrorResponse.builder()
+                        .status(badRequest.value())
+                        .error(ex.getMessage())
+                        .build());
+    }
+
     @ExceptionHandler
     public ResponseEntity<ErrorResponse> handleMethodArgumentTypeMismatchException(MethodArgumentTypeMismatchException ex) {
         log.warn(ex.getMessage());
@@ -0,0 +1,8 @@
+package ru.practicum.shareit.exception;
+
+public class InvalidBookingPeriodException extends RuntimeException {
+
+    public InvalidBookingPeriodException() {
+        super("Booking must end after it starts");
+    }
+}
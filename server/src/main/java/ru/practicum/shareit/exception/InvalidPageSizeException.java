@@ -0,0 +1,8 @@
+package ru.practicum.shareit.exception;
+
+public class InvalidPageSizeException extends RuntimeException {
+
+    public InvalidPageSizeException(Integer size) {
+        super("Page size must be greater than 0: " + size);
+    }
+}
@@ -14,4 +14,7 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
 
     @Query("select c from Comment c join fetch c.author where c.item in :items")
     List<Comment> findByItemIn(List<Item> items);
+
+    @Query("select distinct c.item.id from Comment c where c.author.id = :authorId")
+    List<Long> findItemIdsByAuthorId(Long authorId);
 }
\ No newline at end of file
@@ -1,13 +1,21 @@
 package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.item.bulk.ItemImportResult;
+import ru.practicum.shareit.item.bulk.ItemImportService;
 import ru.practicum.shareit.item.dto.CommentDto;
 
 import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.util.Collection;
 
+import static ru.practicum.shareit.markers.ConstantsUtil.TEXT_CSV_VALUE;
 import static ru.practicum.shareit.markers.ConstantsUtil.USER_ID_HEADER;
 
 
@@ -16,6 +24,7 @@ import static ru.practicum.shareit.markers.ConstantsUtil.USER_ID_HEADER;
 @RequiredArgsConstructor
 public class ItemController {
     private final ItemService itemService;
+    private final ItemImportService itemImportService;
 
     @GetMapping
     public Collection<ItemDto> findAllByOwner(@RequestHeader(USER_ID_HEADER) long userId,
@@ -43,6 +52,13 @@ public class ItemController {
         return itemService.save(userId, itemDto);
     }
 
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, TEXT_CSV_VALUE})
+    public ItemImportResult importItems(@RequestHeader(USER_ID_HEADER) long userId,
+                                        @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                        InputStream body) throws IOException {
+        return itemImportService.importItems(userId, contentType, body);
+    }
+
     @PostMapping(value = "/{itemId}/comment")
     public CommentDto createComment(@PathVariable Long itemId,
                                     @RequestBody CommentDto commentDto,
@@ -24,20 +24,6 @@ public class ItemMapper {
     }
 
     public static ItemDto toItemDto(Item item) {
-        Booking lastBookingFromDb = item.getLastBooking();
-        ItemDto.BookingDtoForItem lastBooking = lastBookingFromDb == null ? null
-                : ItemDto.BookingDtoForItem.builder()
-                .id(lastBookingFromDb.getId())
-                .bookerId(lastBookingFromDb.getBooker().getId())
-                .build();
-
-        Booking nextBookingFromDb = item.getNextBooking();
-        ItemDto.BookingDtoForItem nextBooking = nextBookingFromDb == null ? null
-                : ItemDto.BookingDtoForItem.builder()
-                .id(nextBookingFromDb.getId())
-                .bookerId(nextBookingFromDb.getBooker().getId())
-                .build();
-
         List<Comment> commentsFromDb = item.getComments();
         List<CommentDto> comments = commentsFromDb == null || commentsFromDb.isEmpty() ? Collections.emptyList()
                 : CommentMapper.toDto(commentsFromDb);
@@ -48,12 +34,20 @@ public class ItemMapper {
                 .description(item.getDescription())
                 .available(item.getAvailable())
                 .requestId(item.getRequestId())
-                .lastBooking(lastBooking)
-                .nextBooking(nextBooking)
+                .lastBooking(toBookingDtoForItem(item.getLastBooking()))
+                .nextBooking(toBookingDtoForItem(item.getNextBooking()))
                 .comments(comments)
                 .build();
     }
 
+    public static ItemDto.BookingDtoForItem toBookingDtoForItem(Booking booking) {
+        return booking == null ? null
+                : ItemDto.BookingDtoForItem.builder()
+                .id(booking.getId())
+                .bookerId(booking.getBooker().getId())
+                .build();
+    }
+
     public static List<ItemDto> toItemDto(Iterable<Item> items) {
         List<ItemDto> dtos = new ArrayList<>();
         for (Item item : items) {
@@ -2,13 +2,17 @@ package ru.practicum.shareit.item;
 
 import org.springframework.context.annotation.Primary;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemText;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Primary
 public interface ItemRepository extends JpaRepository<Item, Long> {
@@ -19,12 +23,43 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
             "  and (lower(i.name) like '%'||lower(:name)||'%' or lower(i.description) like '%'||lower(:description)||'%')")
     List<Item> findAvailableByNameOrDescription(String name, String description, PageRequest pageRequest);
 
+    @Query("select i " +
+            " from Item i " +
+            "where i.available = true " +
+            "  and (lower(i.name) like '%'||lower(:text)||'%' or lower(i.description) like '%'||lower(:text)||'%') " +
+            "order by case when lower(i.name) like '%'||lower(:text)||'%' then 0 else 1 end, i.id")
+    List<Item> findAvailableByNameOrDescriptionRanked(String text, Pageable pageable);
+
+    @Query(value = "select * " +
+            "  from items i " +
+            " where i.is_available = true " +
+            "   and (i.name ilike '%' || :text || '%' or i.description ilike '%' || :text || '%') " +
+            " order by i.item_id", nativeQuery = true)
+    List<Item> searchByTrigram(String text, Pageable pageable);
+
+    @Query(value = "select * " +
+            "  from items i " +
+            " where i.is_available = true " +
+            "   and (i.name ilike '%' || :text || '%' or i.description ilike '%' || :text || '%') " +
+            " order by greatest(word_similarity(:text, i.name) * 2, word_similarity(:text, coalesce(i.description, ''))) desc, " +
+            "          i.item_id", nativeQuery = true)
+    List<Item> searchByTrigramRanked(String text, Pageable pageable);
+
+    @Query("select new ru.practicum.shareit.item.model.ItemText(i.id, i.name, i.description) " +
+            " from Item i " +
+            "where i.available = true")
+    List<ItemText> findAllAvailableText();
+
+    @EntityGraph(attributePaths = "owner")
+    Optional<Item> findWithOwnerById(Long id);
+
     @Query("select i from Item i where i.owner.id = :ownerId")
     List<Item> findByOwnerId(Long ownerId, PageRequest pageRequest);
 
     @Query("select count(b.id) > 0 " +
             " from Booking b " +
-            "where ( ( :end > b.start and :end < b.end ) or ( :start > b.start and :start < b.end ) ) " +
+            "where b.start < :end " +
+            "  and b.end > :start " +
             "  and b.status = 'APPROVED'" +
             "  and b.item.id = :itemId")
     boolean isBookedInPeriod(Long itemId, LocalDateTime start, LocalDateTime end);
@@ -1,4 +1,5 @@
 package ru.practicum.shareit.item;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
@@ -8,23 +9,29 @@ import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.index.BookingIntervalIndex;
 import ru.practicum.shareit.exception.CustomPageRequest;
 import ru.practicum.shareit.exception.ItemNotFoundException;
 import ru.practicum.shareit.exception.ItemWasNotBookedByUserException;
 import ru.practicum.shareit.exception.UserNotFoundException;
+import ru.practicum.shareit.item.cache.ItemDetail;
+import ru.practicum.shareit.item.cache.ItemDetailCache;
 import ru.practicum.shareit.item.dto.CommentDto;
 
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+@Timed("shareit.service")
 @Slf4j
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
@@ -33,6 +40,9 @@ public class ItemServiceImpl implements ItemService {
     private final UserRepository userRepository;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
+    private final ItemSearchEngine itemSearchEngine;
+    private final ItemDetailCache itemDetailCache;
+    private final BookingIntervalIndex bookingIntervalIndex;
 
     @Override
     public List<ItemDto> findAllByOwner(Long userId, Integer from, Integer size) {
@@ -44,21 +54,22 @@ public class ItemServiceImpl implements ItemService {
 
     @Override
     public ItemDto findById(Long id, Long userId) {
-        Item item = itemRepository.findById(id).orElseThrow(() -> new ItemNotFoundException(id));
-        item.setComments(commentRepository.findByItemId(id));
-        item.setBookings(bookingRepository.findByItemId(id));
-
-        if (Objects.equals(item.getOwner().getId(), userId)) {
-            setLastAndNextBooking(item);
+        ItemDetail detail = itemDetailCache.get(id, this::loadItemDetail);
+        ItemDto itemDto = detail.toItemDto();
+
+        if (Objects.equals(detail.getOwnerId(), userId)) {
+            LocalDateTime now = LocalDateTime.now();
+            List<Booking> bookings = findLastAndNextBookings(List.of(id), now);
+            itemDto.setLastBooking(ItemMapper.toBookingDtoForItem(findLastBooking(bookings, now)));
+            itemDto.setNextBooking(ItemMapper.toBookingDtoForItem(findNextBooking(bookings, now)));
         }
 
-        return ItemMapper.toItemDto(item);
+        return itemDto;
     }
 
     @Override
     public List<ItemDto> search(String query, Integer from, Integer size) {
-        PageRequest pageRequest = CustomPageRequest.of(from, size, Sort.by("id").ascending());
-        List<Item> items = itemRepository.findAvailableByNameOrDescription(query, query, pageRequest);
+        List<Item> items = itemSearchEngine.search(query, CustomPageRequest.of(from, size));
         setDataFromDb(items, false);
         return ItemMapper.toItemDto(items);
     }
@@ -69,14 +80,16 @@ public class ItemServiceImpl implements ItemService {
         User user = userRepository.findById(userId).orElseThrow(() -> new UserNotFoundException(userId));
         Item item = ItemMapper.toItem(itemDto);
         item.setOwner(user);
-        return ItemMapper.toItemDto(itemRepository.save(item));
+        Item savedItem = itemRepository.save(item);
+        itemSearchEngine.onItemSaved(savedItem);
+        return ItemMapper.toItemDto(savedItem);
     }
 
     @Transactional
     @Override
     public ItemDto update(Long userId, Long id, ItemDto itemDto) {
         Item item = ItemMapper.toItem(itemDto);
-        Item updatedItem = itemRepository.findById(id).orElseThrow(() -> new ItemNotFoundException(id));
+        Item updatedItem = itemRepository.findWithOwnerById(id).orElseThrow(() -> new ItemNotFoundException(id));
         User owner = userRepository.findById(userId).orElseThrow(() -> new UserNotFoundException(userId));
 
         if (!Objects.equals(owner.getId(), updatedItem.getOwner().getId())) {
@@ -91,7 +104,10 @@ public class ItemServiceImpl implements ItemService {
         if (item.getAvailable() != null) {
             updatedItem.setAvailable(item.getAvailable());
         }
-        return ItemMapper.toItemDto(itemRepository.save(updatedItem));
+        Item savedItem = itemRepository.save(updatedItem);
+        itemSearchEngine.onItemSaved(savedItem);
+        itemDetailCache.evict(id);
+        return ItemMapper.toItemDto(savedItem);
     }
 
     @Transactional
@@ -100,6 +116,9 @@ public class ItemServiceImpl implements ItemService {
         Item item = itemRepository.findById(id).orElseThrow(() -> new ItemNotFoundException(id));
         if (Objects.equals(item.getOwner().getId(), userId)) {
             itemRepository.deleteById(id);
+            itemSearchEngine.onItemDeleted(id);
+            itemDetailCache.evict(id);
+            bookingIntervalIndex.onItemDeleted(id);
         } else {
             throw new ItemNotFoundException("Item id = " + id + " with user id = " + userId + " not found");
         }
@@ -113,53 +132,77 @@ public class ItemServiceImpl implements ItemService {
         if (itemRepository.wasBookedByUser(itemId, userId)) {
             comment.setItem(itemRepository.findById(itemId).orElseThrow(() -> new ItemNotFoundException(itemId)));
             comment.setAuthor(userRepository.findById(userId).orElseThrow(() -> new UserNotFoundException(userId)));
-            return commentRepository.save(comment);
+            Comment savedComment = commentRepository.save(comment);
+            itemDetailCache.evict(itemId);
+            return savedComment;
         } else {
             throw new ItemWasNotBookedByUserException();
         }
     }
 
     private void setDataFromDb(List<Item> items, boolean setLastAndNextBooking) {
-        Map<Item, List<Comment>> allComments = commentRepository.findByItemIn(items)
+        Map<Long, List<Comment>> allComments = commentRepository.findByItemIn(items)
                 .stream()
-                .collect(Collectors.groupingBy(Comment::getItem, Collectors.toList()));
+                .collect(Collectors.groupingBy(c -> c.getItem().getId(), Collectors.toList()));
 
-        Map<Item, List<Booking>> allBookings = bookingRepository.findByItemInAndStatus(items, BookingStatus.APPROVED)
-                .stream()
-                .collect(Collectors.groupingBy(Booking::getItem, Collectors.toList()));
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, List<Booking>> lastAndNextBookings = Collections.emptyMap();
+        if (setLastAndNextBooking && !items.isEmpty()) {
+            List<Long> itemIds = items.stream().map(Item::getId).collect(Collectors.toList());
+            lastAndNextBookings = findLastAndNextBookings(itemIds, now)
+                    .stream()
+                    .collect(Collectors.groupingBy(b -> b.getItem().getId(), Collectors.toList()));
+        }
 
         for (Item item : items) {
-            item.setComments(allComments.getOrDefault(item, Collections.emptyList()));
-            item.setBookings(allBookings.getOrDefault(item, Collections.emptyList()));
+            item.setComments(allComments.getOrDefault(item.getId(), Collections.emptyList()));
             if (setLastAndNextBooking) {
-                setLastAndNextBooking(item);
+                setLastAndNextBooking(item, lastAndNextBookings.getOrDefault(item.getId(), Collections.emptyList()), now);
             }
         }
     }
 
-    private void setLastAndNextBooking(Item item) {
-        LocalDateTime now = LocalDateTime.now();
+    private ItemDetail loadItemDetail(Long id) {
+        Item item = itemRepository.findById(id).orElseThrow(() -> new ItemNotFoundException(id));
+        return new ItemDetail(
+                item.getOwner().getId(),
+                item.getId(),
+                item.getName(),
+                item.getDescription(),
+                item.getAvailable(),
+                item.getRequestId(),
+                List.copyOf(CommentMapper.toDto(commentRepository.findByItemId(id))));
+    }
 
-        List<Booking> bookings = item.getBookings();
-        Booking lastBooking = null;
-        Booking nextBooking = null;
-        if (bookings != null) {
-            lastBooking = bookings
-                    .stream()
-                    .filter(b -> b.getStatus().equals(BookingStatus.APPROVED))
-                    .filter(b -> b.getStart().isBefore(now) || b.getStart().equals(now))
-                    .max(Comparator.comparing(Booking::getStart))
-                    .orElse(null);
+    private List<Booking> findLastAndNextBookings(List<Long> itemIds, LocalDateTime now) {
+        List<Long> bookingIds = bookingRepository.findLastAndNextApprovedIdsByItemIdIn(itemIds, now)
+                .stream()
+                .flatMap(ids -> Stream.of(ids.getLastId(), ids.getNextId()))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        return bookingIds.isEmpty() ? Collections.emptyList() : bookingRepository.findWithBookerByIdIn(bookingIds);
+    }
 
-            nextBooking = bookings
-                    .stream()
-                    .filter(b -> b.getStatus().equals(BookingStatus.APPROVED))
-                    .filter(b -> b.getStart().isAfter(now))
-                    .min(Comparator.comparing(Booking::getStart))
-                    .orElse(null);
-        }
+    private void setLastAndNextBooking(Item item, List<Booking> bookings, LocalDateTime now) {
+        item.setLastBooking(findLastBooking(bookings, now));
+        item.setNextBooking(findNextBooking(bookings, now));
+    }
 
-        item.setLastBooking(lastBooking);
-        item.setNextBooking(nextBooking);
+    private static Booking findLastBooking(List<Booking> bookings, LocalDateTime now) {
+        return bookings
+                .stream()
+                .filter(b -> b.getStatus().equals(BookingStatus.APPROVED))
+                .filter(b -> b.getStart().isBefore(now) || b.getStart().equals(now))
+                .max(Comparator.comparing(Booking::getStart).thenComparing(Booking::getId))
+                .orElse(null);
+    }
+
+    private static Booking findNextBooking(List<Booking> bookings, LocalDateTime now) {
+        return bookings
+                .stream()
+                .filter(b -> b.getStatus().equals(BookingStatus.APPROVED))
+                .filter(b -> b.getStart().isAfter(now))
+                .min(Comparator.comparing(Booking::getStart).thenComparing(Booking::getId))
+                .orElse(null);
     }
 }
\ No newline at end of file
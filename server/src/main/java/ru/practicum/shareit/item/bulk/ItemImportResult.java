@@ -0,0 +1,17 @@
+package ru.practicum.shareit.item.bulk;
+
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+public class ItemImportResult {
+    int imported;
+    int failed;
+    List<ItemImportRowResult> rows;
+
+    static ItemImportResult of(List<ItemImportRowResult> rows) {
+        int failed = (int) rows.stream().filter(row -> row.getError() != null).count();
+        return new ItemImportResult(rows.size() - failed, failed, rows);
+    }
+}
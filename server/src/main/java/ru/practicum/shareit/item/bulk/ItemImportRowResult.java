@@ -0,0 +1,18 @@
+package ru.practicum.shareit.item.bulk;
+
+import lombok.Value;
+
+@Value
+public class ItemImportRowResult {
+    int row;
+    Long id;
+    String error;
+
+    static ItemImportRowResult imported(int row, Long id) {
+        return new ItemImportRowResult(row, id, null);
+    }
+
+    static ItemImportRowResult failed(int row, String error) {
+        return new ItemImportRowResult(row, null, error);
+    }
+}
@@ -0,0 +1,197 @@
+package ru.practicum.shareit.item.bulk;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.exception.UserNotFoundException;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static ru.practicum.shareit.markers.ConstantsUtil.TEXT_CSV_VALUE;
+
+/**
+ * Imports items from a JSON array or a CSV file with a header row.
+ * <p>
+ * Rows are read one at a time and written in batches, each batch in its own transaction, so neither the
+ * payload nor the persistence context grows with the size of the upload. A row that fails validation is
+ * reported and skipped; malformed input stops the import after the rows read so far.
+ */
+@Slf4j
+@Service
+public class ItemImportService {
+    private static final MediaType TEXT_CSV = MediaType.valueOf(TEXT_CSV_VALUE);
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final ItemSearchEngine itemSearchEngine;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectReader jsonReader;
+    private final ObjectReader csvReader;
+    private final int batchSize;
+
+    public ItemImportService(ItemRepository itemRepository,
+                             UserRepository userRepository,
+                             ItemRequestRepository itemRequestRepository,
+                             ItemSearchEngine itemSearchEngine,
+                             EntityManager entityManager,
+                             PlatformTransactionManager transactionManager,
+                             ObjectMapper objectMapper,
+                             @Value("${shareit.item.import.batch-size:500}") int batchSize) {
+        this.itemRepository = itemRepository;
+        this.userRepository = userRepository;
+        this.itemRequestRepository = itemRequestRepository;
+        this.itemSearchEngine = itemSearchEngine;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.jsonReader = objectMapper.readerFor(ItemDto.class);
+        this.csvReader = new CsvMapper()
+                .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+                .readerFor(ItemDto.class)
+                .with(CsvSchema.emptySchema().withHeader())
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.batchSize = batchSize;
+    }
+
+    public ItemImportResult importItems(Long userId, MediaType contentType, InputStream body) throws IOException {
+        User owner = userRepository.findById(userId).orElseThrow(() -> new UserNotFoundException(userId));
+        ObjectReader reader = TEXT_CSV.includes(contentType) ? csvReader : jsonReader;
+        List<ItemImportRowResult> results = new ArrayList<>();
+        List<PendingItem> batch = new ArrayList<>(batchSize);
+
+        try (MappingIterator<ItemDto> rows = reader.readValues(body)) {
+            int row = 0;
+            while (true) {
+                row++;
+                try {
+                    if (!rows.hasNextValue()) {
+                        break;
+                    }
+                    ItemDto itemDto = rows.nextValue();
+                    String error = validate(itemDto);
+                    if (error == null) {
+                        batch.add(new PendingItem(row, ItemMapper.toItem(itemDto)));
+                    } else {
+                        results.add(ItemImportRowResult.failed(row, error));
+                    }
+                } catch (JsonMappingException e) {
+                    results.add(ItemImportRowResult.failed(row, e.getOriginalMessage()));
+                } catch (JsonProcessingException e) {
+                    results.add(ItemImportRowResult.failed(row, "Malformed input: " + e.getOriginalMessage()));
+                    break;
+                }
+
+                if (batch.size() == batchSize) {
+                    results.addAll(save(owner, batch));
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            results.addAll(save(owner, batch));
+        }
+
+        results.sort(Comparator.comparingInt(ItemImportRowResult::getRow));
+        ItemImportResult result = ItemImportResult.of(results);
+        log.info("Imported {} items for user {}, {} rows failed", result.getImported(), userId, result.getFailed());
+        return result;
+    }
+
+    private List<ItemImportRowResult> save(User owner, List<PendingItem> batch) {
+        try {
+            return transactionTemplate.execute(status -> {
+                Set<Long> requestIds = itemRequestRepository.findAllById(batch
+                                .stream()
+                                .map(pending -> pending.getItem().getRequestId())
+                                .filter(Objects::nonNull)
+                                .collect(Collectors.toSet()))
+                        .stream()
+                        .map(ItemRequest::getId)
+                        .collect(Collectors.toSet());
+
+                List<ItemImportRowResult> results = new ArrayList<>(batch.size());
+                List<PendingItem> valid = new ArrayList<>(batch.size());
+                for (PendingItem pending : batch) {
+                    Item item = pending.getItem();
+                    if (item.getRequestId() != null && !requestIds.contains(item.getRequestId())) {
+                        results.add(ItemImportRowResult.failed(pending.getRow(), "Item request id = " + item.getRequestId() + " not found"));
+                    } else {
+                        item.setId(null);
+                        item.setOwner(owner);
+                        valid.add(pending);
+                    }
+                }
+
+                itemRepository.saveAll(valid.stream().map(PendingItem::getItem).collect(Collectors.toList()));
+                for (PendingItem pending : valid) {
+                    itemSearchEngine.onItemSaved(pending.getItem());
+                    results.add(ItemImportRowResult.imported(pending.getRow(), pending.getItem().getId()));
+                }
+                entityManager.flush();
+                entityManager.clear();
+                return results;
+            });
+        } catch (DataAccessException e) {
+            log.warn("Item import batch failed", e);
+            return batch
+                    .stream()
+                    .map(pending -> ItemImportRowResult.failed(pending.getRow(), "Item could not be saved"))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static String validate(ItemDto itemDto) {
+        if (itemDto == null) {
+            return "Item must not be empty";
+        }
+        if (itemDto.getName() == null || itemDto.getName().isBlank()) {
+            return "name must not be blank";
+        }
+        if (itemDto.getDescription() == null || itemDto.getDescription().isBlank()) {
+            return "description must not be blank";
+        }
+        if (itemDto.getAvailable() == null) {
+            return "available must not be null";
+        }
+        return null;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static class PendingItem {
+        private final int row;
+        private final Item item;
+    }
+}
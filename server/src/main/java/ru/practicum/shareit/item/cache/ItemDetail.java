@@ -0,0 +1,39 @@
+package ru.practicum.shareit.item.cache;
+
+import lombok.Value;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.util.List;
+
+/**
+ * The part of an item detail that is the same for every reader: the item itself and its comments.
+ * Last and next bookings are owner-only and are never cached.
+ */
+@Value
+public class ItemDetail {
+    Long ownerId;
+
+    Long id;
+
+    String name;
+
+    String description;
+
+    Boolean available;
+
+    Long requestId;
+
+    List<CommentDto> comments;
+
+    public ItemDto toItemDto() {
+        return ItemDto.itemDtoBuilder()
+                .id(id)
+                .name(name)
+                .description(description)
+                .available(available)
+                .requestId(requestId)
+                .comments(comments)
+                .build();
+    }
+}
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.item.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+import static ru.practicum.shareit.markers.TransactionUtil.afterCommit;
+
+/**
+ * Read-through cache of item details keyed by item id.
+ * <p>
+ * Entries are evicted after the changing transaction commits. A load that races with such a commit is
+ * safe: the eviction waits for the running load and removes whatever it stored.
+ */
+@Component
+public class ItemDetailCache {
+    private final Cache<Long, ItemDetail> cache;
+
+    public ItemDetailCache(MeterRegistry meterRegistry,
+                           @Value("${shareit.item.cache.max-size:10000}") long maxSize,
+                           @Value("${shareit.item.cache.ttl:10m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "itemDetails");
+    }
+
+    public ItemDetail get(Long itemId, Function<Long, ItemDetail> loader) {
+        return cache.get(itemId, loader);
+    }
+
+    public void evict(Long itemId) {
+        afterCommit(() -> cache.invalidate(itemId));
+    }
+}
@@ -0,0 +1,12 @@
+package ru.practicum.shareit.item.model;
+
+import lombok.Value;
+
+@Value
+public class ItemText {
+    Long id;
+
+    String name;
+
+    String description;
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+/**
+ * Finds available items whose name or description contains the text, ignoring case.
+ * <p>
+ * Results are ordered by id, or by relevance when ranking is enabled. The pageable only carries the page,
+ * its sort is ignored.
+ */
+public interface ItemSearchEngine {
+    List<Item> search(String text, Pageable pageable);
+
+    default void onItemSaved(Item item) {
+    }
+
+    default void onItemDeleted(Long itemId) {
+    }
+}
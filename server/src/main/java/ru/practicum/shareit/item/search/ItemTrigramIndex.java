@@ -0,0 +1,164 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.model.ItemText;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * Inverted index from lower-cased trigrams of name and description to item ids.
+ * <p>
+ * A text of three or more characters can only be contained in items holding all of its trigrams, so the
+ * posting lists narrow the candidates and a substring check on them gives the exact answer. Shorter texts
+ * check every indexed item.
+ */
+class ItemTrigramIndex {
+    private static final int GRAM = 3;
+
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    ItemTrigramIndex(Collection<ItemText> items) {
+        items.forEach(this::put);
+    }
+
+    List<Long> search(String text, boolean ranked) {
+        String query = normalize(text);
+
+        lock.readLock().lock();
+        try {
+            Comparator<Document> order = Comparator.comparing(Document::getId);
+            if (ranked) {
+                order = Comparator.<Document>comparingInt(document -> document.rank(query)).thenComparing(order);
+            }
+
+            return candidates(query)
+                    .stream()
+                    .map(documents::get)
+                    .filter(document -> document.contains(query))
+                    .sorted(order)
+                    .map(Document::getId)
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void put(ItemText item) {
+        Document document = new Document(item.getId(), normalize(item.getName()), normalize(item.getDescription()));
+
+        lock.writeLock().lock();
+        try {
+            remove(item.getId());
+            documents.put(document.getId(), document);
+            document.grams().forEach(gram -> postings.computeIfAbsent(gram, g -> new HashSet<>()).add(document.getId()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void delete(Long itemId) {
+        lock.writeLock().lock();
+        try {
+            remove(itemId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void remove(Long itemId) {
+        Document document = documents.remove(itemId);
+        if (document == null) {
+            return;
+        }
+
+        document.grams().forEach(gram -> {
+            Set<Long> ids = postings.get(gram);
+            ids.remove(itemId);
+            if (ids.isEmpty()) {
+                postings.remove(gram);
+            }
+        });
+    }
+
+    private Collection<Long> candidates(String query) {
+        if (query.length() < GRAM) {
+            return documents.keySet();
+        }
+
+        List<Set<Long>> lists = new ArrayList<>();
+        for (String gram : grams(query)) {
+            Set<Long> ids = postings.get(gram);
+            if (ids == null) {
+                return List.of();
+            }
+            lists.add(ids);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+
+        Set<Long> result = new HashSet<>(lists.get(0));
+        for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+            result.retainAll(lists.get(i));
+        }
+        return result;
+    }
+
+    private static Set<String> grams(String value) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= value.length(); i++) {
+            grams.add(value.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    private static class Document {
+        private final Long id;
+        private final String name;
+        private final String description;
+
+        Document(Long id, String name, String description) {
+            this.id = id;
+            this.name = name;
+            this.description = description;
+        }
+
+        Long getId() {
+            return id;
+        }
+
+        boolean contains(String query) {
+            return name.contains(query) || description.contains(query);
+        }
+
+        int rank(String query) {
+            if (name.equals(query)) {
+                return 0;
+            }
+            if (name.startsWith(query)) {
+                return 1;
+            }
+            return name.contains(query) ? 2 : 3;
+        }
+
+        Set<String> grams() {
+            Set<String> grams = ItemTrigramIndex.grams(name);
+            grams.addAll(ItemTrigramIndex.grams(description));
+            return grams;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "like", matchIfMissing = true)
+public class LikeItemSearchEngine implements ItemSearchEngine {
+    private final ItemRepository itemRepository;
+    private final boolean ranked;
+
+    public LikeItemSearchEngine(ItemRepository itemRepository,
+                                @Value("${shareit.search.ranked:false}") boolean ranked) {
+        this.itemRepository = itemRepository;
+        this.ranked = ranked;
+    }
+
+    @Override
+    public List<Item> search(String text, Pageable pageable) {
+        if (ranked) {
+            return itemRepository.findAvailableByNameOrDescriptionRanked(text,
+                    PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+        }
+
+        return itemRepository.findAvailableByNameOrDescription(text, text,
+                PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by("id").ascending()));
+    }
+}
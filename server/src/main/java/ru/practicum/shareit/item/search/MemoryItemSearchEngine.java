@@ -0,0 +1,112 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemText;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static ru.practicum.shareit.markers.TransactionUtil.afterCommit;
+
+/**
+ * Embedded search for databases without trigram indexes.
+ * <p>
+ * The index is built from all available items on the first search and then follows item changes after
+ * the changing transaction commits. Changes committed before the first load are read by it, and changes
+ * committed during the load wait for it and are applied on top. The load holds a {@link Lock} rather than a
+ * monitor, so a virtual thread waiting on the database does not pin its carrier.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "memory")
+public class MemoryItemSearchEngine implements ItemSearchEngine {
+    private final ItemRepository itemRepository;
+    private final boolean ranked;
+    private final Lock loadLock = new ReentrantLock();
+    private volatile ItemTrigramIndex index;
+
+    public MemoryItemSearchEngine(ItemRepository itemRepository,
+                                  @Value("${shareit.search.ranked:false}") boolean ranked) {
+        this.itemRepository = itemRepository;
+        this.ranked = ranked;
+    }
+
+    @Override
+    public List<Item> search(String text, Pageable pageable) {
+        List<Long> ids = index().search(text, ranked);
+        int from = (int) Math.min(pageable.getOffset(), ids.size());
+        List<Long> page = ids.subList(from, Math.min(from + pageable.getPageSize(), ids.size()));
+
+        Map<Long, Item> items = itemRepository.findAllById(page)
+                .stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+        return page.stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void onItemSaved(Item item) {
+        Long itemId = item.getId();
+        ItemText text = Boolean.TRUE.equals(item.getAvailable())
+                ? new ItemText(itemId, item.getName(), item.getDescription())
+                : null;
+
+        afterCommit(() -> ifLoaded(current -> {
+            if (text != null) {
+                current.put(text);
+            } else {
+                current.delete(itemId);
+            }
+        }));
+    }
+
+    @Override
+    public void onItemDeleted(Long itemId) {
+        afterCommit(() -> ifLoaded(current -> current.delete(itemId)));
+    }
+
+    private ItemTrigramIndex index() {
+        ItemTrigramIndex current = index;
+        if (current == null) {
+            loadLock.lock();
+            try {
+                current = index;
+                if (current == null) {
+                    current = new ItemTrigramIndex(itemRepository.findAllAvailableText());
+                    index = current;
+                }
+            } finally {
+                loadLock.unlock();
+            }
+        }
+        return current;
+    }
+
+    private void ifLoaded(Consumer<ItemTrigramIndex> action) {
+        ItemTrigramIndex current = index;
+        if (current == null) {
+            loadLock.lock();
+            try {
+                current = index;
+            } finally {
+                loadLock.unlock();
+            }
+        }
+        if (current != null) {
+            action.accept(current);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+/**
+ * Search over the pg_trgm GIN indexes created by the postgresql migrations, so substring matches keep
+ * their semantics and no longer scan the items table.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "postgres")
+public class PostgresItemSearchEngine implements ItemSearchEngine {
+    private final ItemRepository itemRepository;
+    private final boolean ranked;
+
+    public PostgresItemSearchEngine(ItemRepository itemRepository,
+                                    @Value("${shareit.search.ranked:false}") boolean ranked) {
+        this.itemRepository = itemRepository;
+        this.ranked = ranked;
+    }
+
+    @Override
+    public List<Item> search(String text, Pageable pageable) {
+        PageRequest pageRequest = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+
+        if (ranked) {
+            return itemRepository.searchByTrigramRanked(text, pageRequest);
+        }
+
+        return itemRepository.searchByTrigram(text, pageRequest);
+    }
+}
@@ -0,0 +1,86 @@
+package ru.practicum.shareit.sql;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Counts the SQL statements of every request and publishes them as {@code shareit.sql.statements}, tagged
+ * with method and URI pattern.
+ * <p>
+ * A request that runs more than {@code shareit.sql.statements.warn-threshold} statements, or the same
+ * statement at least {@code shareit.sql.statements.repeat-threshold} times, which is how an association
+ * loaded row by row (N+1) shows, is logged and counted as {@code shareit.sql.requests.flagged}.
+ */
+@Slf4j
+@Component
+public class SqlStatementCountFilter extends OncePerRequestFilter {
+    private final SqlStatementCounter counter;
+    private final MeterRegistry meterRegistry;
+    private final int warnThreshold;
+    private final int repeatThreshold;
+
+    public SqlStatementCountFilter(SqlStatementCounter counter,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${shareit.sql.statements.warn-threshold:10}") int warnThreshold,
+                                   @Value("${shareit.sql.statements.repeat-threshold:5}") int repeatThreshold) {
+        this.counter = counter;
+        this.meterRegistry = meterRegistry;
+        this.warnThreshold = warnThreshold;
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        try (SqlStatementCounter.Scope scope = counter.open()) {
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                record(request, scope);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlStatementCounter.Scope scope) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        DistributionSummary.builder("shareit.sql.statements")
+                .description("SQL statements run by one request")
+                .baseUnit("statements")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(scope.count());
+
+        if (scope.getMaxRepeats() >= repeatThreshold) {
+            flag(request, uri, "repeated");
+            log.warn("{} {} ran {} SQL statements, {} times the same one: {}", request.getMethod(),
+                    request.getRequestURI(), scope.count(), scope.getMaxRepeats(), scope.getMostRepeated());
+        } else if (scope.count() > warnThreshold) {
+            flag(request, uri, "too_many");
+            log.warn("{} {} ran {} SQL statements", request.getMethod(), request.getRequestURI(), scope.count());
+        }
+    }
+
+    private void flag(HttpServletRequest request, String uri, String reason) {
+        Counter.builder("shareit.sql.requests.flagged")
+                .description("Requests that ran too many SQL statements or one statement too often")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+}
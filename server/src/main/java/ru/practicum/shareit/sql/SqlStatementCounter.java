@@ -0,0 +1,119 @@
+package ru.practicum.shareit.sql;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread while a {@link Scope} is open.
+ * <p>
+ * Scopes nest and a statement counts towards every open scope of its thread, so a test can count around
+ * a request that {@link SqlStatementCountFilter} counts as well. Statements are counted as prepared: the
+ * inserts of one JDBC batch count once. A scope keeps a count and the repeats of at most
+ * {@value #MAX_TRACKED_STATEMENTS} distinct statements; only a scope from {@link #openRecording()} keeps the
+ * statements themselves.
+ */
+@Component
+public class SqlStatementCounter implements StatementInspector, HibernatePropertiesCustomizer {
+    private static final long serialVersionUID = 1L;
+    static final int MAX_TRACKED_STATEMENTS = 256;
+    private final transient ThreadLocal<Scope> current = new ThreadLocal<>();
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+
+    @Override
+    public String inspect(String sql) {
+        for (Scope scope = current.get(); scope != null; scope = scope.parent) {
+            scope.add(sql);
+        }
+        return sql;
+    }
+
+    public Scope open() {
+        return open(false);
+    }
+
+    /**
+     * Opens a scope that also keeps every statement in order, for tests that look at what ran.
+     */
+    public Scope openRecording() {
+        return open(true);
+    }
+
+    private Scope open(boolean recording) {
+        Scope scope = new Scope(current.get(), recording);
+        current.set(scope);
+        return scope;
+    }
+
+    public final class Scope implements AutoCloseable {
+        private final Scope parent;
+        private final List<String> statements;
+        private final Map<String, Integer> executions = new HashMap<>();
+        private int count;
+        private String mostRepeated;
+        private int maxRepeats;
+
+        private Scope(Scope parent, boolean recording) {
+            this.parent = parent;
+            this.statements = recording ? new ArrayList<>() : null;
+        }
+
+        private void add(String sql) {
+            count++;
+            if (statements != null) {
+                statements.add(sql);
+            }
+            if (executions.size() >= MAX_TRACKED_STATEMENTS && !executions.containsKey(sql)) {
+                return;
+            }
+            int repeats = executions.merge(sql, 1, Integer::sum);
+            if (repeats > maxRepeats) {
+                maxRepeats = repeats;
+                mostRepeated = sql;
+            }
+        }
+
+        public int count() {
+            return count;
+        }
+
+        public List<String> getStatements() {
+            if (statements == null) {
+                throw new IllegalStateException("Scope does not record statements, open it with openRecording()");
+            }
+            return Collections.unmodifiableList(statements);
+        }
+
+        /**
+         * @return how often the most frequent statement ran, which a lazy or eager association loaded entity
+         *         by entity (N+1) drives up with the size of the page
+         */
+        public int getMaxRepeats() {
+            return maxRepeats;
+        }
+
+        public String getMostRepeated() {
+            return mostRepeated;
+        }
+
+        @Override
+        public void close() {
+            if (parent == null) {
+                current.remove();
+            } else {
+                current.set(parent);
+            }
+        }
+    }
+}
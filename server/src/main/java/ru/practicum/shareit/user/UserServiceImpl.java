@@ -1,5 +1,6 @@
 package ru.practicum.shareit.user;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
@@ -8,6 +9,8 @@ import org.springframework.transaction.annotation.Transactional;
 
 import ru.practicum.shareit.exception.CustomPageRequest;
 import ru.practicum.shareit.exception.UserNotFoundException;
+import ru.practicum.shareit.item.CommentRepository;
+import ru.practicum.shareit.item.cache.ItemDetailCache;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 
@@ -15,11 +18,14 @@ import ru.practicum.shareit.user.model.User;
 import java.util.List;
 
 @Service
+@Timed("shareit.service")
 @Slf4j
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
+    private final CommentRepository commentRepository;
+    private final ItemDetailCache itemDetailCache;
 
     @Override
     public List<UserDto> findAll(Integer from, Integer size) {
@@ -46,8 +52,9 @@ public class UserServiceImpl implements UserService {
         if (newUser.getEmail() != null) {
             user.setEmail(newUser.getEmail());
         }
-        if (newUser.getName() != null) {
+        if (newUser.getName() != null && !newUser.getName().equals(user.getName())) {
             user.setName(newUser.getName());
+            commentRepository.findItemIdsByAuthorId(id).forEach(itemDetailCache::evict);
         }
         if (user.getLogin() != null) {
             user.setLogin(newUser.getLogin());
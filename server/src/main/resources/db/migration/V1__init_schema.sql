@@ -1,9 +1,3 @@
-DROP TABLE IF EXISTS bookings;
-DROP TABLE IF EXISTS comments;
-DROP TABLE IF EXISTS items;
-DROP TABLE IF EXISTS item_requests;
-DROP TABLE IF EXISTS users;
-
 CREATE TABLE IF NOT EXISTS users
 (
     user_id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
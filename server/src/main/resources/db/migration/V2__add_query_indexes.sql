@@ -0,0 +1,6 @@
+CREATE INDEX IF NOT EXISTS bookings_item_id_status_start_date_idx ON bookings (item_id, status, start_date);
+CREATE INDEX IF NOT EXISTS bookings_booker_id_start_date_idx ON bookings (booker_id, start_date);
+CREATE INDEX IF NOT EXISTS items_owner_id_idx ON items (owner_id);
+CREATE INDEX IF NOT EXISTS items_request_id_idx ON items (request_id);
+CREATE INDEX IF NOT EXISTS comments_item_id_idx ON comments (item_id);
+CREATE INDEX IF NOT EXISTS item_requests_requester_id_create_date_idx ON item_requests (requester_id, create_date);
@@ -0,0 +1,2 @@
+CREATE INDEX IF NOT EXISTS bookings_item_id_status_start_date_desc_idx ON bookings (item_id, status, start_date DESC, book_id DESC);
+DROP INDEX IF EXISTS bookings_item_id_status_start_date_idx;
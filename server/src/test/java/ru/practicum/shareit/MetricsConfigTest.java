@@ -0,0 +1,62 @@
+package ru.practicum.shareit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.UserNotFoundException;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.UserServiceImpl;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class MetricsConfigTest {
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldTimeServiceMethods() {
+        long before = count("shareit.service", "class", UserServiceImpl.class.getName(), "method", "save");
+
+        userService.save(UserDto.userDtoBuilder().name("Metrics").email("metrics@example.com").build());
+
+        assertEquals(before + 1, count("shareit.service", "class", UserServiceImpl.class.getName(), "method", "save"));
+    }
+
+    @Test
+    void shouldTagFailedServiceCallsWithException() {
+        assertThrows(UserNotFoundException.class, () -> userService.findById(-1L));
+
+        assertTrue(count("shareit.service", "class", UserServiceImpl.class.getName(), "method", "findById",
+                "exception", "UserNotFoundException") > 0);
+    }
+
+    @Test
+    void shouldTimeFindersByState() {
+        UserDto booker = userService.save(UserDto.userDtoBuilder().name("Booker").email("metrics-booker@example.com").build());
+        long before = count("shareit.booking.finder", "state", "current", "method", "findByBookerId");
+
+        bookingService.findByBookerId(booker.getId(), BookingService.BookingState.CURRENT, 0, 10);
+
+        assertEquals(before + 1, count("shareit.booking.finder", "state", "current", "method", "findByBookerId"));
+        assertNull(meterRegistry.find("shareit.booking.finder").tag("method", "getSearchType").timer());
+        assertTrue(count("spring.data.repository.invocations",
+                "repository", "BookingRepository", "method", "findByBookerIdCurrent") > 0);
+    }
+
+    private long count(String name, String... tags) {
+        Timer timer = meterRegistry.find(name).tags(tags).timer();
+        return timer == null ? 0 : timer.count();
+    }
+}
@@ -0,0 +1,160 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.CommentRepository;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.sql.SqlStatementCounter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the hot repository queries are answered from an index led by the filtered columns.
+ * <p>
+ * Each repository method is called once and the SQL Hibernate prepared for it is explained, so a change to a
+ * query or to its mapping that stops it from matching the index fails here. H2 backs every foreign key with
+ * its own single-column index, so for single-column lookups the plan may pick that one instead of the
+ * migration index; both are acceptable as long as the leading columns match.
+ */
+@DataJpaTest
+@Import(SqlStatementCounter.class)
+class QueryPlanTest {
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Order.desc("start"), Sort.Order.desc("id"));
+    private final LocalDateTime now = LocalDateTime.now();
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private SqlStatementCounter counter;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("insert into users(user_id, name, email) values (1, 'User', 'user@test.ru')");
+        jdbcTemplate.update("insert into item_requests(request_id, description, requester_id, create_date) values (1, 'Request', 1, current_timestamp)");
+        jdbcTemplate.update("insert into items(item_id, name, description, is_available, owner_id, request_id) values (1, 'Item', 'Description', true, 1, 1)");
+        jdbcTemplate.update("insert into comments(text, item_id, author_id, create_date) values ('Comment', 1, 1, current_timestamp)");
+        for (String status : List.of("WAITING", "APPROVED", "REJECTED")) {
+            jdbcTemplate.update("insert into bookings(start_date, end_date, item_id, booker_id, status) values (current_timestamp, current_timestamp, 1, 1, ?)", status);
+        }
+    }
+
+    @Test
+    void bookingIntervalsUseItemIndex() {
+        assertIndexed(() -> bookingRepository.findIntervalsByItemIdAndStatus(1L, BookingStatus.APPROVED),
+                "BOOKINGS", List.of("ITEM_ID"));
+    }
+
+    @Test
+    void overlapCheckUsesItemStatusStartIndex() {
+        assertIndexed(() -> itemRepository.isBookedInPeriod(1L, now, now.plusDays(1)),
+                "BOOKINGS", List.of("ITEM_ID", "STATUS"));
+    }
+
+    @Test
+    void lastAndNextBookingsUseItemStatusStartIndex() {
+        assertIndexed(() -> bookingRepository.findLastAndNextApprovedIdsByItemIdIn(List.of(1L), now),
+                "BOOKINGS", List.of("ITEM_ID", "STATUS", "START_DATE"));
+    }
+
+    @Test
+    void bookingsByBookerUseBookerIndex() {
+        assertIndexed(() -> bookingRepository.findByBookerId(1L, PageRequest.of(0, 10, NEWEST_FIRST)),
+                "BOOKINGS", List.of("BOOKER_ID"));
+    }
+
+    @Test
+    void pastBookingsByBookerUseBookerIndex() {
+        assertIndexed(() -> bookingRepository.findByBookerIdPast(1L, PageRequest.of(0, 10, NEWEST_FIRST)),
+                "BOOKINGS", List.of("BOOKER_ID"));
+    }
+
+    @Test
+    void bookingsAfterCursorUseBookerIndex() {
+        assertIndexed(() -> bookingRepository.findByBookerIdAfter(1L, now, Long.MAX_VALUE, PageRequest.of(0, 10)),
+                "BOOKINGS", List.of("BOOKER_ID"));
+    }
+
+    @Test
+    void bookingsByOwnerUseItemIndexes() {
+        assertIndexed(() -> bookingRepository.findByOwnerId(1L, PageRequest.of(0, 10, NEWEST_FIRST)),
+                "ITEMS", List.of("OWNER_ID"));
+        assertIndexed(() -> bookingRepository.findByOwnerId(1L, PageRequest.of(0, 10, NEWEST_FIRST)),
+                "BOOKINGS", List.of("ITEM_ID"));
+    }
+
+    @Test
+    void itemsByOwnerUseOwnerIndex() {
+        assertIndexed(() -> itemRepository.findByOwnerId(1L, PageRequest.of(0, 10, Sort.by("id"))),
+                "ITEMS", List.of("OWNER_ID"));
+    }
+
+    @Test
+    void itemsByRequestUseRequestIndex() {
+        assertIndexed(() -> itemRepository.findByRequestIdIn(List.of(1L, 2L)), "ITEMS", List.of("REQUEST_ID"));
+    }
+
+    @Test
+    void commentsByItemUseItemIndex() {
+        assertIndexed(() -> commentRepository.findByItemId(1L), "COMMENTS", List.of("ITEM_ID"));
+    }
+
+    @Test
+    void requestsByRequesterUseRequesterIndex() {
+        assertIndexed(() -> itemRequestRepository.findAllByRequesterIdOrderByCreatedDesc(1L),
+                "ITEM_REQUESTS", List.of("REQUESTER_ID"));
+    }
+
+    @Test
+    void migrationIndexesExist() {
+        List<String> indexes = jdbcTemplate.queryForList("select index_name from information_schema.indexes", String.class);
+        assertTrue(indexes.containsAll(List.of(
+                "BOOKINGS_ITEM_ID_STATUS_START_DATE_DESC_IDX",
+                "BOOKINGS_BOOKER_ID_START_DATE_IDX",
+                "ITEMS_OWNER_ID_IDX",
+                "ITEMS_REQUEST_ID_IDX",
+                "COMMENTS_ITEM_ID_IDX",
+                "ITEM_REQUESTS_REQUESTER_ID_CREATE_DATE_IDX")), indexes.toString());
+    }
+
+    private void assertIndexed(Runnable query, String table, List<String> columns) {
+        List<String> statements;
+        try (SqlStatementCounter.Scope scope = counter.openRecording()) {
+            query.run();
+            statements = scope.getStatements();
+        }
+        assertEquals(1, statements.size(), statements.toString());
+
+        String plan = jdbcTemplate.queryForObject("explain " + statements.get(0), String.class);
+        Matcher matcher = Pattern.compile("\"?PUBLIC\"?\\.\"?" + table + "\"? \"?\\w+\"?\\s*/\\* PUBLIC\\.([\\w.]+)").matcher(plan);
+        assertTrue(matcher.find(), plan);
+
+        List<String> indexColumns = jdbcTemplate.queryForList("select column_name " +
+                " from information_schema.index_columns " +
+                "where index_name = ? " +
+                "order by ordinal_position", String.class, matcher.group(1));
+        assertTrue(indexColumns.size() >= columns.size(), plan);
+        assertEquals(columns, indexColumns.subList(0, columns.size()), plan);
+    }
+}
@@ -0,0 +1,136 @@
+package ru.practicum.shareit.booking;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.BaseSessionEventListener;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.sql.SqlStatementCounter;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Persists bookings through JPA and counts the JDBC batches and sequence calls Hibernate issues for them.
+ * <p>
+ * With identity columns every persist was an immediate single-row insert. Pooled sequences hand out 50 ids
+ * per call, so each 50 rows cost one insert batch and one sequence call, plus the optimizer's first call. The 100k run is tagged {@code load}
+ * and only runs with {@code mvn test -P load}.
+ */
+@Slf4j
+@SpringBootTest
+class BookingBatchInsertTest {
+    private static final int BATCH_SIZE = 50;
+    private static final int FLUSH_SIZE = 1_000;
+    private static final Pattern NEXT_ID = Pattern.compile("^(select nextval|call next value for|select next value for)",
+            Pattern.CASE_INSENSITIVE);
+    @PersistenceContext
+    private EntityManager entityManager;
+    @Autowired
+    private SqlStatementCounter counter;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+    private User booker;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        User owner = userRepository.save(User.userBuilder().name("Owner").email("batch-owner@test.ru").build());
+        booker = userRepository.save(User.userBuilder().name("Booker").email("batch-booker@test.ru").build());
+        item = itemRepository.save(Item.itemBuilder().name("Item").description("Description").available(true).owner(owner).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from bookings");
+        jdbcTemplate.update("delete from items");
+        jdbcTemplate.update("delete from users");
+    }
+
+    @Test
+    void shouldInsertBookingsInBatches() {
+        assertBatched(400);
+    }
+
+    @Test
+    @Tag("load")
+    void shouldInsertManyBookingsInBatches() {
+        assertBatched(100_000);
+    }
+
+    private void assertBatched(int bookings) {
+        long started = System.nanoTime();
+        BatchCounter batches = new BatchCounter();
+        List<String> statements;
+        try (SqlStatementCounter.Scope scope = counter.openRecording()) {
+            insert(bookings, batches);
+            statements = scope.getStatements();
+        }
+
+        long sequenceCalls = statements.stream().filter(NEXT_ID.asPredicate()).count();
+        log.info("Inserted {} bookings in {} ms with {} JDBC batches and {} sequence calls", bookings,
+                (System.nanoTime() - started) / 1_000_000, batches.count, sequenceCalls);
+        assertEquals(bookings / BATCH_SIZE, batches.count, "Expected one JDBC batch per " + BATCH_SIZE + " rows");
+        assertTrue(sequenceCalls <= bookings / BATCH_SIZE + 1, "Expected one sequence call per " + BATCH_SIZE + " rows, got " + sequenceCalls);
+        assertEquals(bookings, jdbcTemplate.queryForObject("select count(*) from bookings", Long.class));
+    }
+
+    private void insert(int bookings, BatchCounter batches) {
+        LocalDateTime start = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.unwrap(Session.class).addEventListeners(batches);
+            Item itemRef = entityManager.getReference(Item.class, item.getId());
+            User bookerRef = entityManager.getReference(User.class, booker.getId());
+            for (int i = 0; i < bookings; i++) {
+                entityManager.persist(Booking
+                        .bookingBuilder()
+                        .start(start.plusHours(i))
+                        .end(start.plusHours(i + 1))
+                        .item(itemRef)
+                        .booker(bookerRef)
+                        .status(BookingStatus.APPROVED)
+                        .build());
+                if ((i + 1) % FLUSH_SIZE == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                    itemRef = entityManager.getReference(Item.class, item.getId());
+                    bookerRef = entityManager.getReference(User.class, booker.getId());
+                }
+            }
+        });
+    }
+
+    private static class BatchCounter extends BaseSessionEventListener {
+        private int count;
+
+        @Override
+        public void jdbcExecuteBatchStart() {
+            count++;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.ItemNotFoundException;
+import ru.practicum.shareit.exception.ItemUnavailableException;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class BookingConcurrencyTest {
+    private static final int THREADS = 32;
+    private static final int ITEMS = 4;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+    private User owner;
+    private final List<User> bookers = new ArrayList<>();
+    private final List<Item> items = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(User.userBuilder().name("Owner").email("concurrency-owner@test.ru").build());
+        for (int i = 0; i < THREADS; i++) {
+            bookers.add(userRepository.save(User.userBuilder().name("Booker" + i).email("concurrency-" + i + "@test.ru").build()));
+        }
+        for (int i = 0; i < ITEMS; i++) {
+            items.add(itemRepository.save(Item.itemBuilder().name("Item" + i).description("Description").available(true).owner(owner).build()));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void shouldNotDoubleBookUnderConcurrentCreateAndApprove() throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch ready = new CountDownLatch(THREADS);
+        CountDownLatch go = new CountDownLatch(1);
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < THREADS; i++) {
+            User booker = bookers.get(i);
+            Item item = items.get(i % ITEMS);
+            LocalDateTime bookingStart = start.plusMinutes(i % 3);
+            futures.add(executor.submit(() -> {
+                ready.countDown();
+                go.await();
+                try {
+                    Booking booking = bookingService.create(Booking
+                            .bookingBuilder()
+                            .start(bookingStart)
+                            .end(bookingStart.plusHours(2))
+                            .status(BookingStatus.WAITING)
+                            .build(), item.getId(), booker.getId());
+                    bookingService.approve(booking.getId(), owner.getId(), true);
+                } catch (ItemNotFoundException | ItemUnavailableException e) {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+
+        ready.await();
+        go.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        Map<Long, Long> approvedPerItem = bookingRepository.findAll()
+                .stream()
+                .filter(b -> b.getStatus() == BookingStatus.APPROVED)
+                .collect(Collectors.groupingBy(b -> b.getItem().getId(), Collectors.counting()));
+        for (Item item : items) {
+            assertEquals(1L, approvedPerItem.get(item.getId()), "Item " + item.getId() + " must be booked once");
+        }
+        assertEquals(THREADS - ITEMS, rejected.get());
+    }
+}
@@ -15,7 +15,10 @@ import ru.practicum.shareit.booking.dto.BookingCreateRequestDto;
 
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingCursor;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.GlobalExceptionHandler;
+import ru.practicum.shareit.exception.InvalidCursorException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
@@ -24,10 +27,13 @@ import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -44,7 +50,9 @@ class BookingControllerTest {
 
     @BeforeEach
     void setUp() {
-        mockMvc = MockMvcBuilders.standaloneSetup(bookingController).build();
+        mockMvc = MockMvcBuilders.standaloneSetup(bookingController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
 
         testBooking = Booking
                 .bookingBuilder()
@@ -152,4 +160,68 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$[0].item.id").value(testBooking.getItem().getId()))
                 .andExpect(jsonPath("$[0].item.name").value(testBooking.getItem().getName()));
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldReturnNextCursorWhenPageIsFull() throws Exception {
+        when(bookingService.findByBookerId(any(), any(), any(), any())).thenReturn(List.of(testBooking));
+        mockMvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", 1)
+                        .param("size", "1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", BookingCursor.of(testBooking).encode()));
+
+        mockMvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", 1)
+                        .param("size", "2")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+    @Test
+    void shouldFindByOwnerIdAfterCursor() throws Exception {
+        BookingCursor cursor = BookingCursor.of(testBooking);
+        when(bookingService.findByOwnerIdAfter(eq(1L), eq(BookingService.BookingState.ALL), eq(cursor), eq(10)))
+                .thenReturn(List.of(testBooking));
+        mockMvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", 1)
+                        .param("cursor", cursor.encode())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(testBooking.getId()))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+    @Test
+    void shouldRejectNonPositiveSize() throws Exception {
+        BookingCursor cursor = BookingCursor.of(testBooking);
+        mockMvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", 1)
+                        .param("cursor", cursor.encode())
+                        .param("size", "0")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Page size must be greater than 0: 0"));
+
+        mockMvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", 1)
+                        .param("cursor", cursor.encode())
+                        .param("size", "-1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", 1)
+                        .param("size", "0")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(bookingService);
+    }
+
+    @Test
+    void shouldRejectMalformedCursor() {
+        assertThrows(InvalidCursorException.class, () -> BookingCursor.decode("not-a-cursor"));
+        assertThrows(InvalidCursorException.class, () -> BookingCursor.decode("%%%"));
+    }
+}
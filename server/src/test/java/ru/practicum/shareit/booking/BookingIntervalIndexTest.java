@@ -0,0 +1,125 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingInterval;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.index.BookingIntervalIndex;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookingIntervalIndexTest {
+    private final LocalDateTime base = LocalDateTime.of(2030, 1, 1, 12, 0);
+    @Mock
+    private BookingRepository bookingRepository;
+    private BookingIntervalIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new BookingIntervalIndex(bookingRepository, 10);
+    }
+
+    @Test
+    void shouldWarmItemOnFirstCheck() {
+        when(bookingRepository.findIntervalsByItemIdAndStatus(1L, BookingStatus.APPROVED))
+                .thenReturn(List.of(interval(1L, 0, 2)));
+        assertFalse(index.isIndexed(1L));
+        assertEquals(Optional.of(true), index.isBookedInPeriod(1L, at(1), at(3)));
+        assertEquals(Optional.of(false), index.isBookedInPeriod(1L, at(2), at(3)));
+        assertTrue(index.isIndexed(1L));
+        verify(bookingRepository, times(1)).findIntervalsByItemIdAndStatus(1L, BookingStatus.APPROVED);
+    }
+
+    @Test
+    void shouldFallBackWhenFull() {
+        index = new BookingIntervalIndex(bookingRepository, 0);
+        assertEquals(Optional.empty(), index.isBookedInPeriod(1L, at(1), at(3)));
+        assertEquals(Optional.empty(), new BookingIntervalIndex(bookingRepository, 10).isBookedInPeriod(1L, null, at(3)));
+        assertEquals(Optional.empty(), new BookingIntervalIndex(bookingRepository, 10).isBookedInPeriod(1L, at(3), at(1)));
+    }
+
+    @Test
+    void shouldMatchRepositorySemantics() {
+        List<BookingInterval> intervals = List.of(
+                interval(1L, 0, 4),
+                interval(2L, 3, 6),
+                interval(3L, 6, 8),
+                interval(4L, 10, 12),
+                interval(5L, 11, 11));
+        when(bookingRepository.findIntervalsByItemIdAndStatus(1L, BookingStatus.APPROVED)).thenReturn(intervals);
+
+        for (int start = -2; start < 14; start++) {
+            for (int end = start; end < 15; end++) {
+                assertEquals(Optional.of(scan(intervals, at(start), at(end))), index.isBookedInPeriod(1L, at(start), at(end)),
+                        "start=" + start + ", end=" + end);
+            }
+        }
+    }
+
+    @Test
+    void shouldFollowStatusChanges() {
+        when(bookingRepository.findIntervalsByItemIdAndStatus(1L, BookingStatus.APPROVED)).thenReturn(new ArrayList<>());
+        assertEquals(Optional.of(false), index.isBookedInPeriod(1L, at(1), at(3)));
+
+        Booking booking = Booking
+                .bookingBuilder()
+                .id(7L)
+                .item(Item.itemBuilder().id(1L).build())
+                .start(at(0))
+                .end(at(2))
+                .status(BookingStatus.APPROVED)
+                .build();
+        index.onStatusChanged(booking);
+        assertEquals(Optional.of(true), index.isBookedInPeriod(1L, at(1), at(3)));
+
+        booking.setStatus(BookingStatus.REJECTED);
+        index.onStatusChanged(booking);
+        assertEquals(Optional.of(false), index.isBookedInPeriod(1L, at(1), at(3)));
+
+        booking.setItem(Item.itemBuilder().id(2L).build());
+        booking.setStatus(BookingStatus.APPROVED);
+        index.onStatusChanged(booking);
+        assertFalse(index.isIndexed(2L));
+    }
+
+    @Test
+    void shouldForgetDeletedItem() {
+        when(bookingRepository.findIntervalsByItemIdAndStatus(1L, BookingStatus.APPROVED))
+                .thenReturn(List.of(interval(1L, 0, 2)));
+        assertEquals(Optional.of(true), index.isBookedInPeriod(1L, at(1), at(3)));
+
+        index.onItemDeleted(1L);
+        assertFalse(index.isIndexed(1L));
+
+        when(bookingRepository.findIntervalsByItemIdAndStatus(1L, BookingStatus.APPROVED)).thenReturn(List.of());
+        assertEquals(Optional.of(false), index.isBookedInPeriod(1L, at(1), at(3)));
+    }
+
+    private boolean scan(List<BookingInterval> intervals, LocalDateTime start, LocalDateTime end) {
+        return intervals.stream().anyMatch(b -> b.getStart().isBefore(end) && b.getEnd().isAfter(start));
+    }
+
+    private BookingInterval interval(Long id, int start, int end) {
+        return new BookingInterval(id, at(start), at(end));
+    }
+
+    private LocalDateTime at(int hours) {
+        return base.plusHours(hours);
+    }
+}
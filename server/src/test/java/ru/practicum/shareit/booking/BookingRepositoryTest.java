@@ -6,8 +6,11 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingInterval;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.LastAndNextBookingIds;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.UserRepository;
@@ -15,7 +18,12 @@ import ru.practicum.shareit.user.model.User;
 
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -176,6 +184,29 @@ class BookingRepositoryTest {
         assertEquals(bookingForSave.getStatus(), booking.getStatus());
     }
 
+    @Test
+    void findIntervalsByItemIdAndStatus() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        Booking approved = bookingRepository.save(Booking
+                .bookingBuilder()
+                .item(item)
+                .booker(user)
+                .start(now.plusHours(1))
+                .end(now.plusHours(2))
+                .status(BookingStatus.APPROVED)
+                .build());
+        bookingRepository.save(Booking
+                .bookingBuilder()
+                .item(item)
+                .booker(user)
+                .start(now.plusHours(3))
+                .end(now.plusHours(4))
+                .status(BookingStatus.WAITING)
+                .build());
+        List<BookingInterval> intervals = bookingRepository.findIntervalsByItemIdAndStatus(item.getId(), BookingStatus.APPROVED);
+        assertEquals(List.of(new BookingInterval(approved.getId(), approved.getStart(), approved.getEnd())), intervals);
+    }
+
     @Test
     void findByOwnerIdAndStatus() {
         LocalDateTime now = LocalDateTime.now();
@@ -197,4 +228,79 @@ class BookingRepositoryTest {
         assertEquals(bookingForSave.getEnd(), booking.getEnd());
         assertEquals(bookingForSave.getStatus(), booking.getStatus());
     }
-}
\ No newline at end of file
+
+    @Test
+    void findByBookerIdAfter() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        for (int i = 0; i < 5; i++) {
+            bookingRepository.save(Booking
+                    .bookingBuilder()
+                    .item(item)
+                    .booker(user)
+                    .start(now.plusHours(i / 2))
+                    .end(now.plusHours(i / 2 + 1))
+                    .status(BookingStatus.APPROVED)
+                    .build());
+        }
+        Sort newestFirst = Sort.by(Sort.Order.desc("start"), Sort.Order.desc("id"));
+        List<Booking> expected = bookingRepository.findByBookerId(user.getId(), PageRequest.of(0, 10, newestFirst));
+
+        List<Booking> pages = new ArrayList<>(bookingRepository.findByBookerId(user.getId(), PageRequest.of(0, 2, newestFirst)));
+        while (pages.size() < expected.size()) {
+            Booking last = pages.get(pages.size() - 1);
+            List<Booking> page = bookingRepository.findByBookerIdAfter(user.getId(), last.getStart(), last.getId(), PageRequest.of(0, 2));
+            assertFalse(page.isEmpty());
+            pages.addAll(page);
+        }
+        assertEquals(expected.stream().map(Booking::getId).collect(Collectors.toList()),
+                pages.stream().map(Booking::getId).collect(Collectors.toList()));
+
+        Booking last = pages.get(pages.size() - 1);
+        assertTrue(bookingRepository.findByOwnerIdAfter(user.getId(), last.getStart(), last.getId(), PageRequest.of(0, 2)).isEmpty());
+        assertEquals(2, bookingRepository.findByOwnerIdAndStatusAfter(user.getId(), BookingStatus.APPROVED,
+                expected.get(2).getStart(), expected.get(2).getId(), PageRequest.of(0, 10)).size());
+    }
+
+    @Test
+    void findLastAndNextApprovedIdsByItemIdIn() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        Item other = itemRepository.save(Item.itemBuilder().name("Other").description("Description").available(true).owner(user).build());
+        List<Booking> saved = new ArrayList<>();
+        for (int hours : List.of(-30, -20, -10, -10, 10, 20, 30)) {
+            saved.add(bookingRepository.save(Booking
+                    .bookingBuilder()
+                    .item(item)
+                    .booker(user)
+                    .start(now.plusHours(hours))
+                    .end(now.plusHours(hours + 1))
+                    .status(BookingStatus.APPROVED)
+                    .build()));
+        }
+        bookingRepository.save(Booking
+                .bookingBuilder()
+                .item(item)
+                .booker(user)
+                .start(now.minusHours(5))
+                .end(now.minusHours(4))
+                .status(BookingStatus.REJECTED)
+                .build());
+        Booking otherNext = bookingRepository.save(Booking
+                .bookingBuilder()
+                .item(other)
+                .booker(user)
+                .start(now.plusHours(1))
+                .end(now.plusHours(2))
+                .status(BookingStatus.APPROVED)
+                .build());
+
+        Map<Long, LastAndNextBookingIds> ids = bookingRepository
+                .findLastAndNextApprovedIdsByItemIdIn(List.of(item.getId(), other.getId()), now)
+                .stream()
+                .collect(Collectors.toMap(LastAndNextBookingIds::getItemId, Function.identity()));
+        assertEquals(saved.get(3).getId(), ids.get(item.getId()).getLastId());
+        assertEquals(saved.get(4).getId(), ids.get(item.getId()).getNextId());
+        assertNull(ids.get(other.getId()).getLastId());
+        assertEquals(otherNext.getId(), ids.get(other.getId()).getNextId());
+        assertEquals(user.getId(), bookingRepository.findWithBookerByIdIn(List.of(otherNext.getId())).get(0).getBooker().getId());
+    }
+}
@@ -6,13 +6,17 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingCursor;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.booking.service.BookingServiceImpl;
 import ru.practicum.shareit.booking.service.finder.BookingFinder;
 import ru.practicum.shareit.booking.service.finder.BookingFinderFactory;
+import ru.practicum.shareit.booking.service.index.BookingIntervalIndex;
+import ru.practicum.shareit.booking.service.lock.ItemBookingLocks;
 import ru.practicum.shareit.exception.*;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
@@ -26,6 +30,8 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -40,6 +46,10 @@ class BookingServiceImplUnitTest {
     private BookingFinder bookingFinder;
     @Mock
     private BookingFinderFactory bookingFinderFactory;
+    @Mock
+    private BookingIntervalIndex bookingIntervalIndex;
+    @Mock
+    private ItemBookingLocks itemBookingLocks;
     @InjectMocks
     private BookingServiceImpl bookingService;
 
@@ -97,18 +107,49 @@ class BookingServiceImplUnitTest {
         assertThrows(ItemNotFoundException.class, () -> bookingService.create(booking, 1L, 1L));
     }
 
+    @Test
+    void shouldRejectBookingThatDoesNotEndAfterStart() {
+        booking.setEnd(booking.getStart());
+        assertThrows(InvalidBookingPeriodException.class, () -> bookingService.create(booking, 1L, 1L));
+        booking.setEnd(booking.getStart().minusHours(1));
+        assertThrows(InvalidBookingPeriodException.class, () -> bookingService.create(booking, 1L, 1L));
+        verify(itemRepository, never()).findById(any());
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldCreateUsingIntervalIndex() {
+        when(itemRepository.findById(1L)).thenReturn(Optional.of(item));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(booker));
+        when(bookingIntervalIndex.isBookedInPeriod(any(), any(), any())).thenReturn(Optional.of(true));
+        assertThrows(ItemNotFoundException.class, () -> bookingService.create(booking, 1L, 1L));
+        verify(itemRepository, never()).isBookedInPeriod(any(), any(), any());
+    }
+
     @Test
     void shouldApprove() {
         when(bookingRepository.findByIdAndOwnerId(1L, 1L)).thenReturn(Optional.of(booking));
         when(bookingRepository.save(any())).thenReturn(booking);
         assertEquals(BookingStatus.APPROVED, bookingService.approve(1L, 1L, true).getStatus());
+        verify(bookingIntervalIndex).onStatusChanged(booking);
+        verify(itemBookingLocks).lockUntilCompletion(item.getId());
         assertThrows(BookingIsAlreadyApprovedException.class, () -> bookingService.approve(1L, 1L, true));
     }
 
+    @Test
+    void shouldNotApproveOverlappingBooking() {
+        when(bookingRepository.findByIdAndOwnerId(1L, 1L)).thenReturn(Optional.of(booking));
+        when(itemRepository.isBookedInPeriod(any(), any(), any())).thenReturn(true);
+        assertThrows(ItemUnavailableException.class, () -> bookingService.approve(1L, 1L, true));
+        assertEquals(BookingStatus.WAITING, booking.getStatus());
+        when(bookingRepository.save(any())).thenReturn(booking);
+        assertEquals(BookingStatus.REJECTED, bookingService.approve(1L, 1L, false).getStatus());
+    }
+
     @Test
     void shouldFindById() {
-        when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
-        when(bookingRepository.findById(99L)).thenReturn(Optional.empty());
+        when(bookingRepository.findWithItemAndBookerById(1L)).thenReturn(Optional.of(booking));
+        when(bookingRepository.findWithItemAndBookerById(99L)).thenReturn(Optional.empty());
         assertEquals(booking, bookingService.findById(1L, 1L));
         assertThrows(BookingNotFoundException.class, () -> bookingService.findById(99L, 1L));
         booking.setBooker(owner);
@@ -146,4 +187,28 @@ class BookingServiceImplUnitTest {
         when(userRepository.existsById(99L)).thenReturn(false);
         assertThrows(UserNotFoundException.class, () -> bookingService.findByOwnerId(99L, BookingService.BookingState.ALL, 0, 10));
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldFindByBookerIdAfterCursor() {
+        List<Booking> bookings = List.of(booking);
+        BookingCursor cursor = new BookingCursor(LocalDateTime.now(), 5L);
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(bookingFinderFactory.getFinder(BookingService.BookingState.PAST)).thenReturn(bookingFinder);
+        when(bookingFinder.findByBookerIdAfter(1L, cursor, PageRequest.of(0, 10))).thenReturn(bookings);
+        assertEquals(bookings, bookingService.findByBookerIdAfter(1L, BookingService.BookingState.PAST, cursor, 10));
+        when(userRepository.existsById(99L)).thenReturn(false);
+        assertThrows(UserNotFoundException.class, () -> bookingService.findByBookerIdAfter(99L, BookingService.BookingState.ALL, cursor, 10));
+    }
+
+    @Test
+    void shouldFindByOwnerIdAfterCursor() {
+        List<Booking> bookings = List.of(booking);
+        BookingCursor cursor = new BookingCursor(LocalDateTime.now(), 5L);
+        when(userRepository.existsById(2L)).thenReturn(true);
+        when(bookingFinderFactory.getFinder(BookingService.BookingState.WAITING)).thenReturn(bookingFinder);
+        when(bookingFinder.findByOwnerIdAfter(2L, cursor, PageRequest.of(0, 10))).thenReturn(bookings);
+        assertEquals(bookings, bookingService.findByOwnerIdAfter(2L, BookingService.BookingState.WAITING, cursor, 10));
+        when(userRepository.existsById(99L)).thenReturn(false);
+        assertThrows(UserNotFoundException.class, () -> bookingService.findByOwnerIdAfter(99L, BookingService.BookingState.ALL, cursor, 10));
+    }
+}
@@ -12,6 +12,8 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.bulk.ItemImportResult;
+import ru.practicum.shareit.item.bulk.ItemImportService;
 import ru.practicum.shareit.item.dto.ItemDto;
 
 import ru.practicum.shareit.item.model.Comment;
@@ -24,6 +26,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -34,6 +37,8 @@ class ItemControllerTest {
     private final ObjectMapper mapper = new ObjectMapper();
     @Mock
     private ItemService itemService;
+    @Mock
+    private ItemImportService itemImportService;
     @InjectMocks
     private ItemController itemController;
     private MockMvc mockMvc;
@@ -181,4 +186,27 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$.text").value(comment.getText()))
                 .andExpect(jsonPath("$.authorName").value(comment.getAuthor().getName()));
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldImportCsv() throws Exception {
+        MediaType csv = MediaType.valueOf("text/csv");
+        when(itemImportService.importItems(eq(1L), eq(csv), any())).thenReturn(new ItemImportResult(1, 0, List.of()));
+        mockMvc.perform(post("/items/bulk")
+                        .header("X-Sharer-User-Id", 1)
+                        .content("name,description,available\nDrill,Cordless,true\n")
+                        .contentType(csv)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.failed").value(0));
+    }
+
+    @Test
+    void shouldRejectUnsupportedImportFormat() throws Exception {
+        mockMvc.perform(post("/items/bulk")
+                        .header("X-Sharer-User-Id", 1)
+                        .content("Drill")
+                        .contentType(MediaType.TEXT_PLAIN))
+                .andExpect(status().isUnsupportedMediaType());
+    }
+}
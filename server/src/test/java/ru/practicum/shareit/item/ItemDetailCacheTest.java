@@ -0,0 +1,53 @@
+package ru.practicum.shareit.item;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.cache.ItemDetail;
+import ru.practicum.shareit.item.cache.ItemDetailCache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ItemDetailCacheTest {
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Function<Long, ItemDetail> loader = id -> {
+        loads.incrementAndGet();
+        return new ItemDetail(1L, id, "Item", "Description", true, null, List.of());
+    };
+    private MeterRegistry meterRegistry;
+    private ItemDetailCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ItemDetailCache(meterRegistry, 1, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void shouldLoadOnceUntilEvicted() {
+        assertEquals("Item", cache.get(1L, loader).getName());
+        cache.get(1L, loader);
+        assertEquals(1, loads.get());
+
+        cache.evict(1L);
+        cache.get(1L, loader);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void shouldExposeStats() {
+        cache.get(1L, loader);
+        cache.get(1L, loader);
+        cache.get(2L, loader);
+
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "itemDetails").tag("result", "hit").functionCounter().count());
+        assertEquals(2.0, meterRegistry.get("cache.gets").tag("cache", "itemDetails").tag("result", "miss").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.size").tag("cache", "itemDetails").gauge().value(), 1.0);
+    }
+}
@@ -0,0 +1,102 @@
+package ru.practicum.shareit.item;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManagerFactory;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ItemDetailReadTest {
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    private Statistics statistics;
+    private User owner;
+    private User booker;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        owner = userRepository.save(User.userBuilder().name("Owner").email("detail-owner@test.ru").build());
+        booker = userRepository.save(User.userBuilder().name("Booker").email("detail-booker@test.ru").build());
+        item = itemRepository.save(Item.itemBuilder().name("Item").description("Description").available(true).owner(owner).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from comments");
+        jdbcTemplate.update("delete from bookings");
+        jdbcTemplate.update("delete from items");
+        jdbcTemplate.update("delete from users");
+    }
+
+    @Test
+    void shouldLoadOnlyLastAndNextBookingWhateverTheHistory() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        int inserted = 0;
+
+        for (int history : List.of(10, 10_000)) {
+            List<Object[]> rows = new ArrayList<>();
+            for (int i = inserted; i < history; i++) {
+                LocalDateTime start = now.plusHours(i % 2 == 0 ? -(i + 1) : i + 1);
+                rows.add(new Object[]{Timestamp.valueOf(start), Timestamp.valueOf(start.plusMinutes(30)), item.getId(), booker.getId()});
+            }
+            jdbcTemplate.batchUpdate("insert into bookings(start_date, end_date, item_id, booker_id, status) values (?, ?, ?, ?, 'APPROVED')", rows);
+            inserted = history;
+
+            statistics.clear();
+            ItemDto itemDto = itemService.findById(item.getId(), owner.getId());
+            assertEquals(2, statistics.getEntityStatistics(Booking.class.getName()).getLoadCount(), "history=" + history);
+            assertEquals(booker.getId(), itemDto.getLastBooking().getBookerId());
+            assertEquals(booker.getId(), itemDto.getNextBooking().getBookerId());
+        }
+
+        statistics.clear();
+        ItemDto itemDto = itemService.findById(item.getId(), booker.getId());
+        assertEquals(0, statistics.getEntityStatistics(Booking.class.getName()).getLoadCount());
+        assertNull(itemDto.getLastBooking());
+        assertNull(itemDto.getNextBooking());
+    }
+
+    @Test
+    void shouldShowNewAuthorNameAfterRename() {
+        jdbcTemplate.update("insert into comments(text, item_id, author_id, create_date) values ('Great', ?, ?, current_timestamp)",
+                item.getId(), booker.getId());
+        assertEquals("Booker", itemService.findById(item.getId(), owner.getId()).getComments().get(0).getAuthorName());
+
+        userService.update(booker.getId(), UserDto.userDtoBuilder().name("Renamed").build());
+
+        assertEquals("Renamed", itemService.findById(item.getId(), owner.getId()).getComments().get(0).getAuthorName());
+    }
+}
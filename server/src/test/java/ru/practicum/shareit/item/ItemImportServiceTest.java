@@ -0,0 +1,150 @@
+package ru.practicum.shareit.item;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import ru.practicum.shareit.exception.UserNotFoundException;
+import ru.practicum.shareit.item.bulk.ItemImportResult;
+import ru.practicum.shareit.item.bulk.ItemImportRowResult;
+import ru.practicum.shareit.item.bulk.ItemImportService;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class ItemImportServiceTest {
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+    @Autowired
+    private ItemSearchEngine itemSearchEngine;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    private ItemImportService itemImportService;
+    private User owner;
+    private ItemRequest request;
+
+    @BeforeEach
+    void setUp() {
+        itemImportService = new ItemImportService(itemRepository, userRepository, itemRequestRepository, itemSearchEngine,
+                entityManager, transactionManager, objectMapper, 2);
+        owner = userRepository.save(User.userBuilder().name("Owner").email("import-owner@test.ru").build());
+        request = itemRequestRepository.save(ItemRequest
+                .builder()
+                .description("Need a ladder")
+                .requester(owner)
+                .created(LocalDateTime.now())
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from items");
+        jdbcTemplate.update("delete from item_requests");
+        jdbcTemplate.update("delete from users");
+    }
+
+    @Test
+    void shouldImportJsonArrayAndReportInvalidRows() throws IOException {
+        String json = "[" +
+                "{\"name\": \"Drill\", \"description\": \"Cordless drill\", \"available\": true}," +
+                "{\"name\": \" \", \"description\": \"No name\", \"available\": true}," +
+                "{\"name\": \"Saw\", \"description\": \"Hand saw\", \"available\": \"maybe\"}," +
+                "{\"name\": \"Ladder\", \"description\": \"Tall ladder\", \"available\": true, \"requestId\": " + request.getId() + "}," +
+                "{\"name\": \"Hammer\", \"description\": \"Heavy\", \"available\": false, \"requestId\": -1}" +
+                "]";
+
+        ItemImportResult result = itemImportService.importItems(owner.getId(), MediaType.APPLICATION_JSON, stream(json));
+
+        assertEquals(2, result.getImported());
+        assertEquals(3, result.getFailed());
+        assertEquals(List.of(1, 2, 3, 4, 5), result.getRows().stream().map(ItemImportRowResult::getRow).collect(Collectors.toList()));
+        assertNotNull(result.getRows().get(0).getId());
+        assertEquals("name must not be blank", result.getRows().get(1).getError());
+        assertNotNull(result.getRows().get(2).getError());
+        assertNull(result.getRows().get(3).getError());
+        assertEquals("Item request id = -1 not found", result.getRows().get(4).getError());
+
+        Item ladder = itemRepository.findById(result.getRows().get(3).getId()).orElseThrow();
+        assertEquals(owner.getId(), ladder.getOwner().getId());
+        assertEquals(request.getId(), ladder.getRequestId());
+        assertEquals(2, itemRepository.findAll().size());
+    }
+
+    @Test
+    void shouldImportCsvWithHeader() throws IOException {
+        String csv = "name,description,available,requestId\n" +
+                "Drill,Cordless drill,true,\n" +
+                "Saw,,true,\n" +
+                "Ladder,Tall ladder,false," + request.getId() + "\n";
+
+        ItemImportResult result = itemImportService.importItems(owner.getId(), MediaType.valueOf("text/csv"), stream(csv));
+
+        assertEquals(2, result.getImported());
+        assertEquals("description must not be blank", result.getRows().get(1).getError());
+        assertEquals(List.of("Drill", "Ladder"), itemRepository.findAll()
+                .stream()
+                .map(Item::getName)
+                .sorted()
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    void shouldKeepRowsReadBeforeMalformedInput() throws IOException {
+        String json = "[" +
+                "{\"name\": \"Drill\", \"description\": \"Cordless drill\", \"available\": true}," +
+                "{\"name\": \"Saw\", \"description\": \"Hand saw\", \"available\": true}," +
+                "{\"name\": \"Ladder\", \"description\": \"Tall ladder\", \"available\": true}," +
+                "{\"name\": \"Hammer\"";
+
+        ItemImportResult result = itemImportService.importItems(owner.getId(), MediaType.APPLICATION_JSON, stream(json));
+
+        assertEquals(3, result.getImported());
+        assertEquals(1, result.getFailed());
+        assertTrue(result.getRows().get(3).getError().startsWith("Malformed input"));
+        assertEquals(3, itemRepository.findAll().size());
+    }
+
+    @Test
+    void shouldRejectUnknownOwner() {
+        assertThrows(UserNotFoundException.class,
+                () -> itemImportService.importItems(-1L, MediaType.APPLICATION_JSON, stream("[]")));
+    }
+
+    private InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,22 +1,28 @@
 package ru.practicum.shareit.item;
 
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.PageRequest;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.exception.CustomPageRequest;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemText;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DataJpaTest
@@ -27,6 +33,8 @@ class ItemRepositoryTest {
     private UserRepository userRepository;
     @Autowired
     private BookingRepository bookingRepository;
+    @Autowired
+    private TestEntityManager entityManager;
     private User user;
     private Item item;
 
@@ -49,9 +57,33 @@ class ItemRepositoryTest {
         assertEquals(item, itemRepository.findAvailableByNameOrDescription("Item", "Item", pageRequest).get(0));
     }
 
+    @Test
+    void findAvailableByNameOrDescriptionRanked() {
+        Item byDescription = itemRepository.save(Item.itemBuilder().name("Drill").description("Item for walls").available(true).owner(user).build());
+        itemRepository.save(Item.itemBuilder().name("Hidden item").description("Description").available(false).owner(user).build());
+        assertEquals(List.of(item, byDescription), itemRepository.findAvailableByNameOrDescriptionRanked("item", PageRequest.of(0, 10)));
+        assertEquals(List.of(byDescription), itemRepository.findAvailableByNameOrDescriptionRanked("WALL", PageRequest.of(0, 10)));
+    }
+
+    @Test
+    void shouldCompareWithoutLoadingOwner() {
+        entityManager.flush();
+        entityManager.clear();
+        Item found = itemRepository.findById(item.getId()).orElseThrow();
+        assertEquals(item, found);
+        assertEquals(item.hashCode(), found.hashCode());
+        assertFalse(Hibernate.isInitialized(found.getOwner()));
+    }
+
+    @Test
+    void findAllAvailableText() {
+        itemRepository.save(Item.itemBuilder().name("Hidden").description("Description").available(false).owner(user).build());
+        assertEquals(List.of(new ItemText(item.getId(), "Item", "Description")), itemRepository.findAllAvailableText());
+    }
+
     @Test
     void isBookedInPeriod() {
-        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
         bookingRepository.save(Booking
                 .bookingBuilder()
                 .item(item)
@@ -60,6 +92,9 @@ class ItemRepositoryTest {
                 .status(BookingStatus.APPROVED)
                 .build());
         assertTrue(itemRepository.isBookedInPeriod(item.getId(), now.minusHours(1), now.plusHours(1)));
+        assertTrue(itemRepository.isBookedInPeriod(item.getId(), now, now.plusHours(2)));
+        assertTrue(itemRepository.isBookedInPeriod(item.getId(), now.minusHours(1), now.plusHours(3)));
+        assertFalse(itemRepository.isBookedInPeriod(item.getId(), now.plusHours(2), now.plusHours(3)));
     }
 
     @Test
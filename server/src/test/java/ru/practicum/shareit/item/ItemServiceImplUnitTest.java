@@ -1,25 +1,34 @@
 package ru.practicum.shareit.item;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 
 import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.LastAndNextBookingIds;
+import ru.practicum.shareit.booking.service.index.BookingIntervalIndex;
 import ru.practicum.shareit.exception.CustomPageRequest;
 import ru.practicum.shareit.exception.ItemNotFoundException;
 import ru.practicum.shareit.exception.ItemWasNotBookedByUserException;
+import ru.practicum.shareit.item.cache.ItemDetailCache;
 import ru.practicum.shareit.item.dto.CommentDto;
 
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -28,6 +37,11 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -40,6 +54,12 @@ class ItemServiceImplUnitTest {
     private CommentRepository commentRepository;
     @Mock
     private BookingRepository bookingRepository;
+    @Mock
+    private ItemSearchEngine itemSearchEngine;
+    @Mock
+    private BookingIntervalIndex bookingIntervalIndex;
+    @Spy
+    private ItemDetailCache itemDetailCache = new ItemDetailCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(1));
     @InjectMocks
     private ItemServiceImpl itemService;
     private final PageRequest pageRequest = CustomPageRequest.of(0, 10, Sort.by("id").ascending());
@@ -65,11 +85,12 @@ class ItemServiceImplUnitTest {
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
         when(itemRepository.save(item)).thenReturn(item);
         assertEquals(ItemMapper.toItemDto(item), itemService.save(1L, ItemMapper.toItemDto(item)));
+        verify(itemSearchEngine).onItemSaved(item);
     }
 
     @Test
     void shouldUpdate() {
-        when(itemRepository.findById(1L)).thenReturn(Optional.of(item));
+        when(itemRepository.findWithOwnerById(1L)).thenReturn(Optional.of(item));
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
         when(itemRepository.save(any())).thenReturn(item);
         ItemDto itemDto = ItemMapper.toItemDto(item);
@@ -81,25 +102,73 @@ class ItemServiceImplUnitTest {
         when(itemRepository.findById(1L)).thenReturn(Optional.of(item));
         when(itemRepository.findById(99L)).thenReturn(Optional.empty());
         when(commentRepository.findByItemId(1L)).thenReturn(new ArrayList<>());
-        when(bookingRepository.findByItemId(1L)).thenReturn(new ArrayList<>());
+        when(bookingRepository.findLastAndNextApprovedIdsByItemIdIn(eq(List.of(1L)), any())).thenReturn(new ArrayList<>());
         assertEquals(ItemMapper.toItemDto(item), itemService.findById(1L, 1L));
         assertThrows(ItemNotFoundException.class, () -> itemService.findById(99L, 1L));
     }
 
+    @Test
+    void shouldServeRepeatedDetailReadsFromCache() {
+        when(itemRepository.findById(1L)).thenReturn(Optional.of(item));
+        when(commentRepository.findByItemId(1L)).thenReturn(new ArrayList<>());
+        itemService.findById(1L, 2L);
+        itemService.findById(1L, 2L);
+        verify(itemRepository, times(1)).findById(1L);
+
+        when(itemRepository.findWithOwnerById(1L)).thenReturn(Optional.of(item));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(itemRepository.save(any())).thenReturn(item);
+        itemService.update(1L, 1L, ItemDto.itemDtoBuilder().name("New name").build());
+        itemService.findById(1L, 2L);
+        verify(itemRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void shouldNotLoadBookingsForNonOwner() {
+        when(itemRepository.findById(1L)).thenReturn(Optional.of(item));
+        when(commentRepository.findByItemId(1L)).thenReturn(new ArrayList<>());
+        assertEquals(ItemMapper.toItemDto(item), itemService.findById(1L, 2L));
+        verify(bookingRepository, never()).findLastAndNextApprovedIdsByItemIdIn(any(), any());
+    }
+
     @Test
     void shouldFindByOwnerId() {
         List<Item> items = List.of(item);
         when(itemRepository.findByOwnerId(1L, pageRequest)).thenReturn(items);
         when(commentRepository.findByItemIn(any())).thenReturn(new ArrayList<>());
-        when(bookingRepository.findByItemInAndStatus(any(), any())).thenReturn(new ArrayList<>());
+        when(bookingRepository.findLastAndNextApprovedIdsByItemIdIn(any(), any())).thenReturn(new ArrayList<>());
         assertEquals(ItemMapper.toItemDto(items), itemService.findAllByOwner(1L, 0, 10));
     }
 
+    @Test
+    void shouldSetLastAndNextBookingForOwner() {
+        LocalDateTime now = LocalDateTime.now();
+        Booking last = Booking.bookingBuilder().id(1L).item(item).booker(user).start(now.minusDays(1)).status(BookingStatus.APPROVED).build();
+        Booking next = Booking.bookingBuilder().id(2L).item(item).booker(user).start(now.plusDays(1)).status(BookingStatus.APPROVED).build();
+        when(itemRepository.findByOwnerId(1L, pageRequest)).thenReturn(List.of(item));
+        when(commentRepository.findByItemIn(any())).thenReturn(new ArrayList<>());
+        LastAndNextBookingIds ids = mock(LastAndNextBookingIds.class);
+        when(ids.getLastId()).thenReturn(1L);
+        when(ids.getNextId()).thenReturn(2L);
+        when(bookingRepository.findLastAndNextApprovedIdsByItemIdIn(eq(List.of(1L)), any())).thenReturn(List.of(ids));
+        when(bookingRepository.findWithBookerByIdIn(List.of(1L, 2L))).thenReturn(List.of(next, last));
+        ItemDto itemDto = itemService.findAllByOwner(1L, 0, 10).get(0);
+        assertEquals(1L, itemDto.getLastBooking().getId());
+        assertEquals(2L, itemDto.getNextBooking().getId());
+    }
+
+    @Test
+    void shouldNotLoadBookingsForSearch() {
+        when(itemSearchEngine.search("Item", CustomPageRequest.of(0, 10))).thenReturn(List.of(item));
+        itemService.search("Item", 0, 10);
+        verify(bookingRepository, never()).findLastAndNextApprovedIdsByItemIdIn(any(), any());
+    }
+
     @Test
     void shouldFindByNameOrDescription() {
         List<Item> items = List.of(item);
         List<ItemDto> itemDtos = ItemMapper.toItemDto(items);
-        when(itemRepository.findAvailableByNameOrDescription("Item", "Item", pageRequest)).thenReturn(items);
+        when(itemSearchEngine.search("Item", CustomPageRequest.of(0, 10))).thenReturn(items);
         assertEquals(itemDtos, itemService.search("Item", 0, 10));
     }
 
@@ -0,0 +1,107 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.exception.CustomPageRequest;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemText;
+import ru.practicum.shareit.item.search.MemoryItemSearchEngine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MemoryItemSearchEngineTest {
+    private final List<Item> items = List.of(
+            item(1L, "Дрель", "Простая дрель"),
+            item(2L, "Отвертка", "Аккумуляторная отвертка"),
+            item(3L, "Drill", "Cordless drill with battery"),
+            item(4L, "Battery", "Spare battery for the drill"),
+            item(5L, "Ladder", null),
+            item(6L, "Dr", "Short"));
+    @Mock
+    private ItemRepository itemRepository;
+    private MemoryItemSearchEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new MemoryItemSearchEngine(itemRepository, false);
+        when(itemRepository.findAllAvailableText()).thenReturn(items
+                .stream()
+                .map(item -> new ItemText(item.getId(), item.getName(), item.getDescription()))
+                .collect(Collectors.toList()));
+        when(itemRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            Iterable<Long> ids = invocation.getArgument(0);
+            List<Long> requested = new ArrayList<>();
+            ids.forEach(requested::add);
+            return items.stream().filter(item -> requested.contains(item.getId())).collect(Collectors.toList());
+        });
+    }
+
+    @Test
+    void shouldMatchLikeSemantics() {
+        for (String text : List.of("", "d", "dr", "DRILL", "drel", "дрель", "ОТВ", "battery", "ill with", "x", "der", "ort")) {
+            assertEquals(scan(text), ids(engine.search(text, CustomPageRequest.of(0, 100))), "text=" + text);
+        }
+        verify(itemRepository, times(1)).findAllAvailableText();
+    }
+
+    @Test
+    void shouldPage() {
+        assertEquals(List.of(3L, 4L), ids(engine.search("dr", CustomPageRequest.of(0, 2))));
+        assertEquals(List.of(6L), ids(engine.search("dr", CustomPageRequest.of(2, 2))));
+        assertEquals(List.of(), ids(engine.search("dr", CustomPageRequest.of(4, 2))));
+    }
+
+    @Test
+    void shouldRankNameMatchesFirst() {
+        engine = new MemoryItemSearchEngine(itemRepository, true);
+        assertEquals(List.of(4L, 3L), ids(engine.search("battery", CustomPageRequest.of(0, 10))));
+        assertEquals(List.of(6L, 3L, 4L), ids(engine.search("dr", CustomPageRequest.of(0, 10))));
+    }
+
+    @Test
+    void shouldFollowItemChanges() {
+        assertEquals(List.of(5L), ids(engine.search("ladder", CustomPageRequest.of(0, 10))));
+
+        engine.onItemSaved(item(5L, "Stool", "Wooden"));
+        assertEquals(List.of(), ids(engine.search("ladder", CustomPageRequest.of(0, 10))));
+        assertEquals(List.of(5L), ids(engine.search("wood", CustomPageRequest.of(0, 10))));
+
+        Item unavailable = item(3L, "Drill", "Cordless drill with battery");
+        unavailable.setAvailable(false);
+        engine.onItemSaved(unavailable);
+        assertEquals(List.of(4L), ids(engine.search("battery", CustomPageRequest.of(0, 10))));
+
+        engine.onItemDeleted(4L);
+        assertEquals(List.of(), ids(engine.search("battery", CustomPageRequest.of(0, 10))));
+    }
+
+    private List<Long> scan(String text) {
+        String query = text.toLowerCase(Locale.ROOT);
+        return items.stream()
+                .filter(item -> item.getName().toLowerCase(Locale.ROOT).contains(query)
+                        || (item.getDescription() != null && item.getDescription().toLowerCase(Locale.ROOT).contains(query)))
+                .map(Item::getId)
+                .collect(Collectors.toList());
+    }
+
+    private static List<Long> ids(List<Item> items) {
+        return items.stream().map(Item::getId).collect(Collectors.toList());
+    }
+
+    private static Item item(Long id, String name, String description) {
+        return Item.itemBuilder().id(id).name(name).description(description).available(true).build();
+    }
+}
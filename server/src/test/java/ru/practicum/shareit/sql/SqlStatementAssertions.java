@@ -0,0 +1,47 @@
+package ru.practicum.shareit.sql;
+
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Pins the number of SQL statements a call runs, so that a new query or an association loaded row by row
+ * fails the test that covers the endpoint.
+ * <p>
+ * Sequence calls are left out: ids are allocated in blocks, so whether a save fetches the next block depends
+ * on what ran before it.
+ */
+public final class SqlStatementAssertions {
+    private static final Pattern NEXT_ID = Pattern.compile("^(select nextval|call next value for|select next value for)",
+            Pattern.CASE_INSENSITIVE);
+
+    private SqlStatementAssertions() {
+    }
+
+    public static <T> T assertStatementCount(SqlStatementCounter counter, int expected, SqlCall<T> call) throws Exception {
+        try (SqlStatementCounter.Scope scope = counter.openRecording()) {
+            T result = call.call();
+            List<String> statements = scope.getStatements().stream()
+                    .filter(statement -> !NEXT_ID.matcher(statement).find())
+                    .collect(Collectors.toList());
+            assertEquals(expected, statements.size(), () -> describe(expected, statements));
+            return result;
+        }
+    }
+
+    private static String describe(int expected, List<String> statements) {
+        StringBuilder message = new StringBuilder("Expected " + expected + " SQL statements, ran " + statements.size() + ":");
+        int number = 1;
+        for (String statement : statements) {
+            message.append(System.lineSeparator()).append(number++).append(". ").append(statement);
+        }
+        return message.toString();
+    }
+
+    @FunctionalInterface
+    public interface SqlCall<T> {
+        T call() throws Exception;
+    }
+}
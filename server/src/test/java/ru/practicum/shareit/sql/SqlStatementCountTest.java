@@ -0,0 +1,308 @@
+package ru.practicum.shareit.sql;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingCursor;
+import ru.practicum.shareit.item.CommentRepository;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.markers.ConstantsUtil.USER_ID_HEADER;
+import static ru.practicum.shareit.sql.SqlStatementAssertions.assertStatementCount;
+
+@SpringBootTest(properties = "shareit.sql.statements.repeat-threshold=3")
+@AutoConfigureMockMvc
+class SqlStatementCountTest {
+    private static final int ITEMS = 3;
+    private static final int BOOKERS = 3;
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private SqlStatementCounter counter;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    private User owner;
+    private List<User> bookers;
+    private List<Item> items;
+    private List<ItemRequest> requests;
+    private Booking waiting;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        owner = userRepository.save(User.userBuilder().name("Owner").email("sql-owner@test.ru").build());
+        bookers = new ArrayList<>();
+        for (int i = 0; i < BOOKERS; i++) {
+            bookers.add(userRepository.save(User.userBuilder().name("Booker").email("sql-booker" + i + "@test.ru").build()));
+        }
+        items = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            Item item = itemRepository.save(Item.itemBuilder().name("Drill").description("Drill " + i).available(true).owner(owner).build());
+            items.add(item);
+            for (int b = 0; b < BOOKERS; b++) {
+                User booker = bookers.get(b);
+                bookingRepository.save(booking(item, booker, now.minusDays(10 + b), BookingStatus.APPROVED));
+                waiting = bookingRepository.save(booking(item, booker, now.plusDays(10 + b), BookingStatus.WAITING));
+            }
+            commentRepository.save(Comment.builder().text("Fine").item(item).author(bookers.get(0)).created(now).build());
+        }
+        requests = new ArrayList<>();
+        for (User booker : bookers) {
+            ItemRequest request = itemRequestRepository.save(ItemRequest.builder().description("Need a drill")
+                    .requester(booker).created(now).build());
+            requests.add(request);
+            itemRepository.save(Item.itemBuilder().name("Drill").description("Spare drill").available(true)
+                    .owner(owner).requestId(request.getId()).build());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from comments");
+        jdbcTemplate.update("delete from bookings");
+        jdbcTemplate.update("delete from items");
+        jdbcTemplate.update("delete from item_requests");
+        jdbcTemplate.update("delete from users");
+    }
+
+    @Test
+    void shouldPinStatementsOfCreateBooking() throws Exception {
+        String body = "{\"itemId\": " + items.get(0).getId() + ", \"start\": \"" + now.plusYears(1) + "\", "
+                + "\"end\": \"" + now.plusYears(1).plusDays(1) + "\"}";
+
+        assertStatementCount(counter, 4, () -> mockMvc.perform(post("/bookings")
+                .header(USER_ID_HEADER, bookers.get(0).getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body)).andExpect(status().isOk()));
+    }
+
+    @Test
+    void shouldPinStatementsOfApproveBooking() throws Exception {
+        assertStatementCount(counter, 3, () -> mockMvc.perform(patch("/bookings/" + waiting.getId() + "?approved=true")
+                .header(USER_ID_HEADER, owner.getId())).andExpect(status().isOk()));
+    }
+
+    @Test
+    void shouldPinStatementsOfBooking() throws Exception {
+        assertStatementCount(counter, 1, () -> mockMvc.perform(get("/bookings/" + waiting.getId())
+                .header(USER_ID_HEADER, owner.getId())).andExpect(status().isOk()));
+    }
+
+    @Test
+    void shouldPinStatementsOfBookerBookings() throws Exception {
+        assertStatementCount(counter, 2, () -> mockMvc.perform(get("/bookings?state=ALL")
+                .header(USER_ID_HEADER, bookers.get(0).getId())).andExpect(status().isOk()));
+
+        assertEquals(0, flagged("/bookings", "repeated"));
+    }
+
+    @Test
+    void shouldPinStatementsOfBookerBookingsAfterCursor() throws Exception {
+        assertStatementCount(counter, 2, () -> mockMvc.perform(get("/bookings?state=ALL&cursor=" + cursor())
+                .header(USER_ID_HEADER, bookers.get(0).getId())).andExpect(status().isOk()));
+    }
+
+    @Test
+    void shouldPinStatementsOfOwnerBookings() throws Exception {
+        assertStatementCount(counter, 2, () -> mockMvc.perform(get("/bookings/owner?state=ALL")
+                .header(USER_ID_HEADER, owner.getId())).andExpect(status().isOk()));
+
+        assertEquals(0, flagged("/bookings/owner", "repeated"));
+    }
+
+    @Test
+    void shouldPinStatementsOfOwnerBookingsAfterCursor() throws Exception {
+        assertStatementCount(counter, 2, () -> mockMvc.perform(get("/bookings/owner?state=ALL&cursor=" + cursor())
+                .header(USER_ID_HEADER, owner.getId())).andExpect(status().isOk()));
+    }
+
+    @Test
+    void shouldPinStatementsOfOwnerItems() throws Exception {
+        assertStatementCount(counter, 4, () -> mockMvc.perform(get("/items")
+                .header(USER_ID_HEADER, owner.getId())).andExpect(status().isOk()));
+
+        assertEquals(0, flagged("/items", "repeated"));
+    }
+
+    @Test
+    void shouldPinStatementsOfItem() throws Exception {
+        assertStatementCount(counter, 4, () -> mockMvc.perform(get("/items/" + items.get(0).getId())
+                .header(USER_ID_HEADER, owner.getId())).andExpect(status().isOk()));
+
+        DistributionSummary statements = meterRegistry.get("shareit.sql.statements")
+                .tag("method", "GET").tag("uri", "/items/{id}").summary();
+        assertTrue(statements.count() >= 1);
+        assertTrue(statements.max() >= 4);
+    }
+
+    @Test
+    void shouldPinStatementsOfSearch() throws Exception {
+        assertStatementCount(counter, 3, () -> mockMvc.perform(get("/items/search?text=drill")
+                .header(USER_ID_HEADER, owner.getId())).andExpect(status().isOk()));
+    }
+
+    @Test
+    void shouldPinStatementsOfCreateItem() throws Exception {
+        assertStatementCount(counter, 2, () -> mockMvc.perform(post("/items")
+                .header(USER_ID_HEADER, owner.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"Saw\", \"description\": \"Hand saw\", \"available\": true}"))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void shouldPinStatementsOfImportItems() throws Exception {
+        assertStatementCount(counter, 2, () -> mockMvc.perform(post("/items/bulk")
+                .header(USER_ID_HEADER, owner.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"name\": \"Saw\", \"description\": \"Hand saw\", \"available\": true}, "
+                        + "{\"name\": \"Axe\", \"description\": \"Splitting axe\", \"available\": true}]"))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void shouldPinStatementsOfUpdateItem() throws Exception {
+        assertStatementCount(counter, 2, () -> mockMvc.perform(patch("/items/" + items.get(0).getId())
+                .header(USER_ID_HEADER, owner.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"Hammer drill\"}"))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void shouldPinStatementsOfDeleteItem() throws Exception {
+        Item item = itemRepository.save(Item.itemBuilder().name("Saw").description("Hand saw").available(true).owner(owner).build());
+
+        assertStatementCount(counter, 2, () -> mockMvc.perform(delete("/items/" + item.getId())
+                .header(USER_ID_HEADER, owner.getId())).andExpect(status().isOk()));
+    }
+
+    @Test
+    void shouldPinStatementsOfCreateComment() throws Exception {
+        assertStatementCount(counter, 4, () -> mockMvc.perform(post("/items/" + items.get(0).getId() + "/comment")
+                .header(USER_ID_HEADER, bookers.get(0).getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"text\": \"Still fine\"}"))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void shouldPinStatementsOfCreateRequest() throws Exception {
+        assertStatementCount(counter, 2, () -> mockMvc.perform(post("/requests")
+                .header(USER_ID_HEADER, bookers.get(1).getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"description\": \"Need a ladder\"}"))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void shouldPinStatementsOfOwnRequests() throws Exception {
+        assertStatementCount(counter, 3, () -> mockMvc.perform(get("/requests")
+                .header(USER_ID_HEADER, bookers.get(0).getId())).andExpect(status().isOk()));
+    }
+
+    @Test
+    void shouldPinStatementsOfOtherRequests() throws Exception {
+        assertStatementCount(counter, 2, () -> mockMvc.perform(get("/requests/all")
+                .header(USER_ID_HEADER, owner.getId())).andExpect(status().isOk()));
+
+        assertEquals(0, flagged("/requests/all", "repeated"));
+    }
+
+    @Test
+    void shouldPinStatementsOfRequest() throws Exception {
+        assertStatementCount(counter, 3, () -> mockMvc.perform(get("/requests/" + requests.get(0).getId())
+                .header(USER_ID_HEADER, owner.getId())).andExpect(status().isOk()));
+    }
+
+    @Test
+    void shouldPinStatementsOfUsers() throws Exception {
+        assertStatementCount(counter, 1, () -> mockMvc.perform(get("/users")).andExpect(status().isOk()));
+    }
+
+    @Test
+    void shouldPinStatementsOfUser() throws Exception {
+        assertStatementCount(counter, 1, () -> mockMvc.perform(get("/users/" + owner.getId())).andExpect(status().isOk()));
+    }
+
+    @Test
+    void shouldPinStatementsOfCreateUser() throws Exception {
+        assertStatementCount(counter, 1, () -> mockMvc.perform(post("/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"New\", \"email\": \"sql-new@test.ru\"}"))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void shouldPinStatementsOfUpdateUser() throws Exception {
+        assertStatementCount(counter, 3, () -> mockMvc.perform(patch("/users/" + owner.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"Renamed\"}"))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void shouldPinStatementsOfDeleteUser() throws Exception {
+        User user = userRepository.save(User.userBuilder().name("Gone").email("sql-gone@test.ru").build());
+
+        assertStatementCount(counter, 2, () -> mockMvc.perform(delete("/users/" + user.getId()))
+                .andExpect(status().isOk()));
+    }
+
+    private String cursor() {
+        return new BookingCursor(now.plusYears(1), Long.MAX_VALUE).encode();
+    }
+
+    private double flagged(String uri, String reason) {
+        Counter counter = meterRegistry.find("shareit.sql.requests.flagged")
+                .tag("uri", uri).tag("reason", reason).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private static Booking booking(Item item, User booker, LocalDateTime start, BookingStatus status) {
+        return Booking.bookingBuilder().item(item).booker(booker).start(start).end(start.plusDays(1)).status(status).build();
+    }
+}
@@ -0,0 +1,54 @@
+package ru.practicum.shareit.sql;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SqlStatementCounterTest {
+    private final SqlStatementCounter counter = new SqlStatementCounter();
+
+    @Test
+    void shouldCountWithoutKeepingStatements() {
+        try (SqlStatementCounter.Scope scope = counter.open()) {
+            counter.inspect("select * from items where id=?");
+            counter.inspect("select * from items where id=?");
+            counter.inspect("select * from users where id=?");
+
+            assertEquals(3, scope.count());
+            assertEquals(2, scope.getMaxRepeats());
+            assertEquals("select * from items where id=?", scope.getMostRepeated());
+            assertThrows(IllegalStateException.class, scope::getStatements);
+        }
+    }
+
+    @Test
+    void shouldKeepStatementsForRecordingScopeOnly() {
+        try (SqlStatementCounter.Scope outer = counter.open();
+             SqlStatementCounter.Scope inner = counter.openRecording()) {
+            counter.inspect("select * from items where id=?");
+            counter.inspect("select * from users where id=?");
+
+            assertEquals(List.of("select * from items where id=?", "select * from users where id=?"), inner.getStatements());
+            assertEquals(2, outer.count());
+        }
+    }
+
+    @Test
+    void shouldStopTrackingNewStatementsAtLimit() {
+        try (SqlStatementCounter.Scope scope = counter.open()) {
+            for (int i = 0; i < SqlStatementCounter.MAX_TRACKED_STATEMENTS + 10; i++) {
+                counter.inspect("select * from items where id=" + i);
+            }
+            counter.inspect("select * from items where id=0");
+            counter.inspect("select * from items where id=" + SqlStatementCounter.MAX_TRACKED_STATEMENTS);
+            counter.inspect("select * from items where id=" + SqlStatementCounter.MAX_TRACKED_STATEMENTS);
+
+            assertEquals(SqlStatementCounter.MAX_TRACKED_STATEMENTS + 13, scope.count());
+            assertEquals(2, scope.getMaxRepeats());
+            assertEquals("select * from items where id=0", scope.getMostRepeated());
+        }
+    }
+}
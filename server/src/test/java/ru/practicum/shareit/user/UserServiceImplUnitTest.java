@@ -13,6 +13,8 @@ import org.springframework.data.domain.PageRequest;
 
 import ru.practicum.shareit.exception.CustomPageRequest;
 import ru.practicum.shareit.exception.UserNotFoundException;
+import ru.practicum.shareit.item.CommentRepository;
+import ru.practicum.shareit.item.cache.ItemDetailCache;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 
@@ -22,6 +24,7 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -29,6 +32,10 @@ import static org.mockito.Mockito.when;
 class UserServiceImplUnitTest {
     @Mock
     private UserRepository userRepository;
+    @Mock
+    private CommentRepository commentRepository;
+    @Mock
+    private ItemDetailCache itemDetailCache;
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -56,6 +63,23 @@ class UserServiceImplUnitTest {
         when(userRepository.findById(1L)).thenReturn(Optional.of(userForUpdate));
         when(userRepository.save(any())).thenReturn(userForUpdate);
         assertEquals(userDto, userService.update(1L, userDto));
+        verify(commentRepository, never()).findItemIdsByAuthorId(any());
+    }
+
+    @Test
+    void shouldEvictCommentedItemsOnRename() {
+        User userForUpdate = User
+                .userBuilder()
+                .id(1L)
+                .name("Name")
+                .email("test@test.ru")
+                .build();
+        when(userRepository.findById(1L)).thenReturn(Optional.of(userForUpdate));
+        when(userRepository.save(any())).thenReturn(userForUpdate);
+        when(commentRepository.findItemIdsByAuthorId(1L)).thenReturn(List.of(2L, 3L));
+        userService.update(1L, UserDto.userDtoBuilder().name("New Name").build());
+        verify(itemDetailCache).evict(2L);
+        verify(itemDetailCache).evict(3L);
     }
 
     @Test